@@ -0,0 +1,232 @@
+package com.sharry.librecyclerview;
+
+import android.app.Instrumentation;
+import android.content.ContentValues;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.support.v7.util.ListUpdateCallback;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 基于内存 SQLite 数据库的 {@link CursorItemProvider} 测试
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+@RunWith(AndroidJUnit4.class)
+public class CursorItemProviderTest {
+
+    private static final int ROW_COUNT = 500;
+    private static final int WINDOW_SIZE = 50;
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final Instrumentation mInstrumentation = InstrumentationRegistry.getInstrumentation();
+    private SQLiteDatabase mDatabase;
+    private CursorItemProvider<String> mProvider;
+    // 按照刷新通知重放得到的行 id, 插入的行为 null
+    private final List<Long> mReplayed = new ArrayList<>();
+    private final List<Integer> mChangedPositions = new ArrayList<>();
+    private volatile CountDownLatch mUpdateLatch;
+
+    @Before
+    public void setUp() {
+        mDatabase = SQLiteDatabase.create(null);
+        mDatabase.execSQL("CREATE TABLE items (_id INTEGER PRIMARY KEY, name TEXT)");
+        mDatabase.beginTransaction();
+        try {
+            for (int i = 0; i < ROW_COUNT; i++) {
+                insertRow(i);
+            }
+            mDatabase.setTransactionSuccessful();
+        } finally {
+            mDatabase.endTransaction();
+        }
+        mProvider = new CursorItemProvider<>(new CursorItemProvider.RowMapper<String>() {
+            @Override
+            public String map(Cursor cursor) {
+                return cursor.getString(cursor.getColumnIndexOrThrow("name"));
+            }
+        }, WINDOW_SIZE, 4);
+        mProvider.setUpdateCallback(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                for (int i = 0; i < count; i++) {
+                    mReplayed.add(position, null);
+                }
+                mUpdateLatch.countDown();
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                mReplayed.subList(position, position + count).clear();
+                mUpdateLatch.countDown();
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                mReplayed.add(toPosition, mReplayed.remove(fromPosition));
+                mUpdateLatch.countDown();
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                for (int i = position; i < position + count; i++) {
+                    mChangedPositions.add(i);
+                }
+                mUpdateLatch.countDown();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                mProvider.close();
+            }
+        });
+        awaitBackgroundIdle();
+        mDatabase.close();
+    }
+
+    @Test
+    public void swapCursor_exposesCountBeforeRowsLoad() throws InterruptedException {
+        swapAndAwait(query());
+        assertEquals(ROW_COUNT, getCountOnMain());
+        assertEquals(ROW_COUNT, mReplayed.size());
+    }
+
+    @Test
+    public void get_loadsWindowInBackground() throws InterruptedException {
+        swapAndAwait(query());
+        mUpdateLatch = new CountDownLatch(1);
+        final Object[] first = new Object[1];
+        mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                first[0] = mProvider.get(WINDOW_SIZE + 1);
+            }
+        });
+        // 窗口未加载时返回 null, 加载完成后通知该窗口的区间变更
+        assertNull(first[0]);
+        assertTrue(mUpdateLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(WINDOW_SIZE, mChangedPositions.get(0).intValue());
+        assertEquals(WINDOW_SIZE, mChangedPositions.size());
+        mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                assertTrue(mProvider.isLoaded(WINDOW_SIZE));
+                assertFalse(mProvider.isLoaded(0));
+                assertEquals("item" + (WINDOW_SIZE + 1), mProvider.get(WINDOW_SIZE + 1));
+                assertEquals("item" + WINDOW_SIZE, mProvider.peek(WINDOW_SIZE));
+                // peek 不会触发加载
+                assertNull(mProvider.peek(0));
+                assertFalse(mProvider.isLoaded(0));
+            }
+        });
+    }
+
+    @Test
+    public void swapCursor_dispatchesRowIdDiff() throws InterruptedException {
+        swapAndAwait(query());
+        // 等待首个 Cursor 的行 id 读取完成
+        awaitBackgroundIdle();
+        List<Long> oldIds = new ArrayList<>();
+        for (long i = 0; i < ROW_COUNT; i++) {
+            oldIds.add(i);
+        }
+        mReplayed.clear();
+        mReplayed.addAll(oldIds);
+        // 删除 [10, 20) 并在尾部追加一行
+        mDatabase.delete("items", "_id >= 10 AND _id < 20", null);
+        insertRow(ROW_COUNT);
+        swapAndAwait(query());
+        assertEquals(ROW_COUNT - 9, getCountOnMain());
+        List<Long> expected = new ArrayList<>(oldIds);
+        expected.subList(10, 20).clear();
+        expected.add(null);
+        assertEquals(expected, mReplayed);
+        assertTrue(mChangedPositions.isEmpty());
+    }
+
+    @Test
+    public void close_clearsCount() throws InterruptedException {
+        swapAndAwait(query());
+        mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                mProvider.close();
+                assertEquals(0, mProvider.getCount());
+                assertFalse(mProvider.isLoaded(0));
+            }
+        });
+    }
+
+    private void insertRow(long id) {
+        ContentValues values = new ContentValues();
+        values.put("_id", id);
+        values.put("name", "item" + id);
+        mDatabase.insert("items", null, values);
+    }
+
+    private Cursor query() {
+        return mDatabase.query("items", null, null, null, null, null, "_id");
+    }
+
+    /**
+     * 在主线程替换 Cursor, 并等待刷新通知, 同一次替换的通知在同一个主线程任务中分发
+     */
+    private void swapAndAwait(final Cursor cursor) throws InterruptedException {
+        mUpdateLatch = new CountDownLatch(1);
+        mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                mProvider.swapCursor(cursor);
+            }
+        });
+        assertTrue(mUpdateLatch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        mInstrumentation.waitForIdleSync();
+    }
+
+    private int getCountOnMain() {
+        final int[] count = new int[1];
+        mInstrumentation.runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                count[0] = mProvider.getCount();
+            }
+        });
+        return count[0];
+    }
+
+    /**
+     * 等待后台线程池中的任务执行完成, 再等待其投递到主线程的任务
+     */
+    private void awaitBackgroundIdle() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) AdapterExecutors.background();
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while ((executor.getActiveCount() > 0 || !executor.getQueue().isEmpty())
+                && System.currentTimeMillis() < deadline) {
+            SystemClock.sleep(10);
+        }
+        mInstrumentation.waitForIdleSync();
+    }
+
+}
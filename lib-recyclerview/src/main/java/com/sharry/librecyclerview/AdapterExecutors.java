@@ -0,0 +1,97 @@
+package com.sharry.librecyclerview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 包级可用
+ * Adapter 内部使用的线程调度
+ * 1. 主线程: 数据替换与刷新通知
+ * 2. 后台线程: 差异计算等耗时操作
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class AdapterExecutors {
+
+    private static final int BACKGROUND_POOL_SIZE = 2;
+    private static final Handler MAIN_HANDLER = new Handler(Looper.getMainLooper());
+    private static volatile Executor sBackgroundExecutor;
+
+    private AdapterExecutors() {
+    }
+
+    /**
+     * 是否为主线程
+     */
+    static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    /**
+     * 投递到主线程执行
+     */
+    static void postToMain(Runnable runnable) {
+        MAIN_HANDLER.post(runnable);
+    }
+
+    /**
+     * 在主线程执行, 若当前已是主线程则直接执行
+     */
+    static void runOnMain(Runnable runnable) {
+        if (isMainThread()) {
+            runnable.run();
+        } else {
+            MAIN_HANDLER.post(runnable);
+        }
+    }
+
+    /**
+     * 获取后台线程池
+     */
+    static Executor background() {
+        if (sBackgroundExecutor == null) {
+            synchronized (AdapterExecutors.class) {
+                if (sBackgroundExecutor == null) {
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(BACKGROUND_POOL_SIZE,
+                            BACKGROUND_POOL_SIZE, 30, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<Runnable>(), new WorkerThreadFactory());
+                    executor.allowCoreThreadTimeOut(true);
+                    sBackgroundExecutor = executor;
+                }
+            }
+        }
+        return sBackgroundExecutor;
+    }
+
+    /**
+     * 后台线程的工厂, 使用后台优先级避免与 UI 线程抢占 CPU
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "SRecyclerView-worker-" + mCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+}
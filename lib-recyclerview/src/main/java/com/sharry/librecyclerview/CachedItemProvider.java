@@ -0,0 +1,129 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.util.ListUpdateCallback;
+import android.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 带有 LRU 缓存的 ItemProvider
+ * <p>
+ * 1. 缓存未命中时, 通过 {@link ItemProvider#loadRange} 一次加载 position 所在的整个区间
+ * 2. 最多只持有 maxSize 个已加载的数据, 适用于数据量巨大, 但每次只展示少量条目的场景
+ * 3. 数据源的刷新通知会同步使缓存失效
+ * 4. 条目的标识与内容哈希沿用数据源的实现
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class CachedItemProvider<T> extends ItemProvider<T> implements ListUpdateCallback {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final ItemProvider<T> mSource;
+    private final LruCache<Integer, T> mCache;
+    private final int mPageSize;
+    private final List<T> mPageBuffer = new ArrayList<>();
+
+    public CachedItemProvider(ItemProvider<T> source, int maxSize) {
+        this(source, maxSize, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * @param source   原始数据源
+     * @param maxSize  最多缓存的数据量
+     * @param pageSize 缓存未命中时一次加载的数据量
+     */
+    public CachedItemProvider(ItemProvider<T> source, int maxSize, int pageSize) {
+        mSource = source;
+        mPageSize = Math.max(1, Math.min(pageSize, maxSize));
+        mCache = new LruCache<>(maxSize);
+        mSource.setUpdateCallback(this);
+    }
+
+    @Override
+    public int getCount() {
+        return mSource.getCount();
+    }
+
+    @Override
+    public T get(int position) {
+        T item = mCache.get(position);
+        if (item != null) {
+            return item;
+        }
+        // 加载 position 所在的整个区间
+        int pageStart = position / mPageSize * mPageSize;
+        int pageCount = Math.min(mPageSize, getCount() - pageStart);
+        mPageBuffer.clear();
+        mSource.loadRange(pageStart, pageCount, mPageBuffer);
+        for (int i = 0; i < mPageBuffer.size(); i++) {
+            T loaded = mPageBuffer.get(i);
+            if (loaded != null) {
+                mCache.put(pageStart + i, loaded);
+            }
+        }
+        item = position - pageStart < mPageBuffer.size() ? mPageBuffer.get(position - pageStart) : null;
+        mPageBuffer.clear();
+        return item;
+    }
+
+    /**
+     * 只读取缓存与数据源中已在内存的数据, 不会触发加载
+     */
+    @Override
+    protected T peek(int position) {
+        T item = mCache.get(position);
+        return item != null ? item : mSource.peek(position);
+    }
+
+    /**
+     * 使用数据源的标识, 例如行 id
+     */
+    @Override
+    protected Object getItemKey(T item) {
+        return mSource.getItemKey(item);
+    }
+
+    @Override
+    protected int getItemContentHash(T item) {
+        return mSource.getItemContentHash(item);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void evictAll() {
+        mCache.evictAll();
+    }
+
+    @Override
+    public void onInserted(int position, int count) {
+        // 位置发生了偏移, 缓存整体失效
+        mCache.evictAll();
+        notifyItemRangeInserted(position, count);
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        mCache.evictAll();
+        notifyItemRangeRemoved(position, count);
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+        mCache.evictAll();
+        notifyItemMoved(fromPosition, toPosition);
+    }
+
+    @Override
+    public void onChanged(int position, int count, Object payload) {
+        for (int i = position; i < position + count; i++) {
+            mCache.remove(i);
+        }
+        notifyItemRangeChanged(position, count, payload);
+    }
+
+}
@@ -0,0 +1,469 @@
+package com.sharry.librecyclerview;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 列式存储的数据集, 适用于数据量巨大且结构相同的列表
+ * <p>
+ * 1. 每一列使用基本类型数组存储(int/long/double), 字符串列存储字符串池中的索引, 避免每行一个对象的内存开销
+ * 2. get 返回的是可复用的 {@link Row} 游标, 只在 convert 中有效, 不能被持有
+ * 3. 排序与过滤只会重排行索引, 不会移动列数据, 过滤在当前的展示顺序上进行, 保留之前的排序
+ * 4. 条目标识默认为行在存储中的索引 {@link Row#getRowIndex()}, 内容哈希由当前行所有列的值计算,
+ * 使用 {@link SelectionTracker} 等需要标识的功能时同样应以 getRowIndex 作为 Key
+ * <p>
+ * 使用方式:
+ * <pre>
+ * ColumnarDataSet dataSet = new ColumnarDataSet();
+ * int colId = dataSet.addLongColumn();
+ * int colName = dataSet.addStringColumn();
+ * int row = dataSet.appendRows(ids.length);
+ * for (int i = 0; i &lt; ids.length; i++, row++) {
+ *     dataSet.setLong(row, colId, ids[i]);
+ *     dataSet.setString(row, colName, names[i]);
+ * }
+ * MyAdapter adapter = new MyAdapter(context, dataSet);  // MyAdapter extends SRecyclerAdapter&lt;ColumnarDataSet.Row&gt;
+ * // 选中状态同样以行索引作为 Key
+ * new SelectionTracker&lt;&gt;(adapter, new SelectionTracker.KeyProvider&lt;ColumnarDataSet.Row&gt;() {
+ *     public long getKey(ColumnarDataSet.Row row) {
+ *         return row.getRowIndex();
+ *     }
+ * });
+ * </pre>
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class ColumnarDataSet extends ItemProvider<ColumnarDataSet.Row> {
+
+    private static final int TYPE_INT = 1;
+    private static final int TYPE_LONG = 2;
+    private static final int TYPE_DOUBLE = 3;
+    private static final int TYPE_STRING = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final List<Column> mColumns = new ArrayList<>();
+    private final StringPool mStringPool = new StringPool();
+    // 行的存储数量
+    private int mRowCount;
+    private int mCapacity = DEFAULT_CAPACITY;
+    // 可见的行在存储中的索引, 为 null 时表示按存储顺序展示所有行
+    private int[] mViewIndex;
+    private int mViewCount;
+    // 复用的行游标
+    private final Row mRow = new Row(this);
+    // 以行索引为下标缓存的标识对象, 避免每次获取标识时装箱
+    private Integer[] mRowKeys;
+
+    /**
+     * 添加 int 列
+     *
+     * @return 列的索引
+     */
+    public int addIntColumn() {
+        return addColumn(TYPE_INT);
+    }
+
+    /**
+     * 添加 long 列
+     */
+    public int addLongColumn() {
+        return addColumn(TYPE_LONG);
+    }
+
+    /**
+     * 添加 double 列
+     */
+    public int addDoubleColumn() {
+        return addColumn(TYPE_DOUBLE);
+    }
+
+    /**
+     * 添加字符串列, 相同的字符串只会存储一份
+     */
+    public int addStringColumn() {
+        return addColumn(TYPE_STRING);
+    }
+
+    /**
+     * 在存储的尾部追加一行, 追加的行会立即可见, 需要在主线程调用
+     *
+     * @return 行在存储中的索引
+     */
+    public int appendRow() {
+        return appendRows(1);
+    }
+
+    /**
+     * 在存储的尾部追加多行, 只分发一次区间插入的通知, 需要在主线程调用
+     *
+     * @return 第一行在存储中的索引, 追加的行在存储中连续
+     */
+    public int appendRows(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("ColumnarDataSet.appendRows -> count must be positive!");
+        }
+        if (mRowCount + count > mCapacity) {
+            mCapacity = Math.max(mCapacity * 2, mRowCount + count);
+            for (Column column : mColumns) {
+                column.resize(mCapacity);
+            }
+        }
+        int firstRow = mRowCount;
+        mRowCount += count;
+        if (mViewIndex != null) {
+            ensureViewCapacity(mViewCount + count);
+            for (int row = firstRow; row < mRowCount; row++) {
+                mViewIndex[mViewCount++] = row;
+            }
+        }
+        notifyItemRangeInserted(getCount() - count, count);
+        return firstRow;
+    }
+
+    public void setInt(int row, int column, int value) {
+        checkColumn(column, TYPE_INT).ints[row] = value;
+    }
+
+    public void setLong(int row, int column, long value) {
+        checkColumn(column, TYPE_LONG).longs[row] = value;
+    }
+
+    public void setDouble(int row, int column, double value) {
+        checkColumn(column, TYPE_DOUBLE).doubles[row] = value;
+    }
+
+    public void setString(int row, int column, String value) {
+        checkColumn(column, TYPE_STRING).ints[row] = mStringPool.intern(value);
+    }
+
+    @Override
+    public int getCount() {
+        return mViewIndex == null ? mRowCount : mViewCount;
+    }
+
+    /**
+     * 获取 position 的行游标, 返回的游标会被复用, 只在下一次调用 get 之前有效
+     */
+    @Override
+    public Row get(int position) {
+        mRow.mRow = storageIndexOf(position);
+        mRow.mPosition = position;
+        return mRow;
+    }
+
+    /**
+     * 行游标被复用, 以行在存储中的索引作为标识
+     * <p>
+     * 每一行的标识对象只创建一次, 之后重复使用
+     */
+    @Override
+    protected Object getItemKey(Row row) {
+        int index = row.getRowIndex();
+        Integer[] keys = mRowKeys;
+        if (keys == null || keys.length <= index) {
+            keys = keys == null ? new Integer[mCapacity] : Arrays.copyOf(keys, mCapacity);
+            mRowKeys = keys;
+        }
+        Integer key = keys[index];
+        if (key == null) {
+            key = index;
+            keys[index] = key;
+        }
+        return key;
+    }
+
+    /**
+     * 由当前行所有列的值计算哈希
+     */
+    @Override
+    protected int getItemContentHash(Row row) {
+        int hash = 1;
+        int index = row.getRowIndex();
+        for (Column column : mColumns) {
+            int value;
+            switch (column.type) {
+                case TYPE_LONG:
+                    long longValue = column.longs[index];
+                    value = (int) (longValue ^ (longValue >>> 32));
+                    break;
+                case TYPE_DOUBLE:
+                    long bits = Double.doubleToLongBits(column.doubles[index]);
+                    value = (int) (bits ^ (bits >>> 32));
+                    break;
+                default:
+                    // 字符串列存储的是字符串池中的索引, 相同的字符串索引相同
+                    value = column.ints[index];
+                    break;
+            }
+            hash = hash * 31 + value;
+        }
+        return hash;
+    }
+
+    /**
+     * 按照 int/long/double 列排序, 只重排行索引, 需要在主线程调用
+     */
+    public void sortBy(int column, boolean ascending) {
+        Column target = mColumns.get(column);
+        if (target.type == TYPE_STRING) {
+            throw new IllegalArgumentException("ColumnarDataSet.sortBy -> string column is not supported!");
+        }
+        int count = getCount();
+        // 将排序键编码为可比较的 long, 与行号一起排序, 避免装箱
+        long[] keys = new long[count];
+        int[] rows = new int[count];
+        for (int i = 0; i < count; i++) {
+            rows[i] = storageIndexOf(i);
+            keys[i] = sortKeyOf(target, rows[i]);
+        }
+        int[] sorted = radixOrder(keys, ascending);
+        int[] viewIndex = new int[Math.max(count, DEFAULT_CAPACITY)];
+        for (int i = 0; i < count; i++) {
+            viewIndex[i] = rows[sorted[i]];
+        }
+        mViewIndex = viewIndex;
+        mViewCount = count;
+        notifyItemRangeChanged(0, count, null);
+    }
+
+    /**
+     * 在当前展示的行中过滤, 只保留满足条件的行, 保持当前的排序, 需要在主线程调用
+     * <p>
+     * 多次调用时条件会叠加, 需要重新过滤全部行时先传入 null 清除
+     *
+     * @param predicate 为 null 时清除过滤与排序
+     */
+    public void filter(RowPredicate predicate) {
+        int oldCount = getCount();
+        if (predicate == null) {
+            mViewIndex = null;
+            mViewCount = 0;
+        } else {
+            Row row = new Row(this);
+            int[] viewIndex = new int[Math.max(oldCount, DEFAULT_CAPACITY)];
+            int viewCount = 0;
+            // 按照当前的展示顺序遍历, 保留 sortBy 的结果
+            for (int i = 0; i < oldCount; i++) {
+                row.mRow = storageIndexOf(i);
+                row.mPosition = viewCount;
+                if (predicate.accept(row)) {
+                    viewIndex[viewCount++] = row.mRow;
+                }
+            }
+            mViewIndex = viewIndex;
+            mViewCount = viewCount;
+        }
+        int newCount = getCount();
+        // 过滤前后的行不具备对应关系, 整体替换
+        if (oldCount > 0) {
+            notifyItemRangeRemoved(0, oldCount);
+        }
+        if (newCount > 0) {
+            notifyItemRangeInserted(0, newCount);
+        }
+    }
+
+    private int addColumn(int type) {
+        if (mRowCount > 0) {
+            throw new IllegalStateException("ColumnarDataSet -> columns must be added before any row!");
+        }
+        mColumns.add(new Column(type, mCapacity));
+        return mColumns.size() - 1;
+    }
+
+    private Column checkColumn(int column, int type) {
+        Column target = mColumns.get(column);
+        if (target.type != type) {
+            throw new IllegalArgumentException("ColumnarDataSet -> column " + column + " type mismatch!");
+        }
+        return target;
+    }
+
+    private int storageIndexOf(int position) {
+        return mViewIndex == null ? position : mViewIndex[position];
+    }
+
+    private void ensureViewCapacity(int capacity) {
+        if (mViewIndex.length < capacity) {
+            mViewIndex = Arrays.copyOf(mViewIndex, Math.max(capacity, mViewIndex.length * 2));
+        }
+    }
+
+    /**
+     * 将列的值转为保持大小顺序的无符号 long
+     */
+    private static long sortKeyOf(Column column, int row) {
+        switch (column.type) {
+            case TYPE_INT:
+                return column.ints[row] ^ Long.MIN_VALUE;
+            case TYPE_LONG:
+                return column.longs[row] ^ Long.MIN_VALUE;
+            default:
+                long bits = Double.doubleToLongBits(column.doubles[row]);
+                // 负数翻转所有位, 正数翻转符号位
+                return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * 对无符号 long 做稳定的基数排序, 返回排序后的下标
+     */
+    private static int[] radixOrder(long[] keys, boolean ascending) {
+        int count = keys.length;
+        int[] order = new int[count];
+        int[] buffer = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int[] histogram = new int[257];
+        for (int shift = 0; shift < 64; shift += 8) {
+            Arrays.fill(histogram, 0);
+            for (int i = 0; i < count; i++) {
+                histogram[(int) ((keys[order[i]] >>> shift) & 0xFF) + 1]++;
+            }
+            // 所有行在该字节上相同时跳过
+            boolean skip = false;
+            for (int i = 1; i < histogram.length; i++) {
+                if (histogram[i] == count) {
+                    skip = true;
+                    break;
+                }
+            }
+            if (skip) continue;
+            for (int i = 1; i < histogram.length; i++) {
+                histogram[i] += histogram[i - 1];
+            }
+            for (int i = 0; i < count; i++) {
+                int bucket = (int) ((keys[order[i]] >>> shift) & 0xFF);
+                buffer[histogram[bucket]++] = order[i];
+            }
+            int[] temp = order;
+            order = buffer;
+            buffer = temp;
+        }
+        if (!ascending) {
+            for (int i = 0, j = count - 1; i < j; i++, j--) {
+                int temp = order[i];
+                order[i] = order[j];
+                order[j] = temp;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * 行的过滤条件
+     */
+    public interface RowPredicate {
+        boolean accept(Row row);
+    }
+
+    /**
+     * 可复用的行游标, 通过列索引读取当前行的值
+     */
+    public static final class Row {
+
+        private final ColumnarDataSet mDataSet;
+        private int mRow;
+        private int mPosition;
+
+        private Row(ColumnarDataSet dataSet) {
+            mDataSet = dataSet;
+        }
+
+        /**
+         * 当前行在列表中的位置
+         */
+        public int getPosition() {
+            return mPosition;
+        }
+
+        /**
+         * 当前行在存储中的索引, 不受排序与过滤影响, 可以作为稳定的标识
+         */
+        public int getRowIndex() {
+            return mRow;
+        }
+
+        public int getInt(int column) {
+            return mDataSet.mColumns.get(column).ints[mRow];
+        }
+
+        public long getLong(int column) {
+            return mDataSet.mColumns.get(column).longs[mRow];
+        }
+
+        public double getDouble(int column) {
+            return mDataSet.mColumns.get(column).doubles[mRow];
+        }
+
+        public String getString(int column) {
+            return mDataSet.mStringPool.get(mDataSet.mColumns.get(column).ints[mRow]);
+        }
+    }
+
+    /**
+     * 一列数据
+     */
+    private static class Column {
+
+        final int type;
+        int[] ints;
+        long[] longs;
+        double[] doubles;
+
+        Column(int type, int capacity) {
+            this.type = type;
+            resize(capacity);
+        }
+
+        void resize(int capacity) {
+            switch (type) {
+                case TYPE_LONG:
+                    longs = longs == null ? new long[capacity] : Arrays.copyOf(longs, capacity);
+                    break;
+                case TYPE_DOUBLE:
+                    doubles = doubles == null ? new double[capacity] : Arrays.copyOf(doubles, capacity);
+                    break;
+                default:
+                    ints = ints == null ? new int[capacity] : Arrays.copyOf(ints, capacity);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 字符串池, 相同的字符串只存储一份
+     */
+    private static class StringPool {
+
+        private final Map<String, Integer> mIndexes = new HashMap<>();
+        private final List<String> mStrings = new ArrayList<>();
+
+        StringPool() {
+            // 索引 0 保留给 null
+            mStrings.add(null);
+        }
+
+        int intern(String value) {
+            if (value == null) return 0;
+            Integer index = mIndexes.get(value);
+            if (index == null) {
+                index = mStrings.size();
+                mStrings.add(value);
+                mIndexes.put(value, index);
+            }
+            return index;
+        }
+
+        String get(int index) {
+            return mStrings.get(index);
+        }
+    }
+
+}
@@ -0,0 +1,365 @@
+package com.sharry.librecyclerview;
+
+import android.database.Cursor;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.util.ListUpdateCallback;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 基于数据库 Cursor 的 ItemProvider
+ * <p>
+ * 1. 只需获取条目总数即可展示列表, 首帧耗时与数据表大小无关
+ * 2. 按照固定大小的窗口在后台线程加载数据, 只加载正在展示的位置附近的窗口, 最多缓存 maxWindows 个窗口
+ * 3. 窗口尚未加载完成时, get 返回 null, getLayoutResId/convert 需要处理 null 数据(展示占位视图)
+ * 4. 通过 {@link #swapCursor} 替换 Cursor 时, 在后台线程根据行 id 计算差异并分发区间刷新通知,
+ * 行 id 分段读取, 读取期间窗口依旧可以加载
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class CursorItemProvider<T> extends ItemProvider<T> {
+
+    private static final String TAG = CursorItemProvider.class.getSimpleName();
+    private static final String DEFAULT_ID_COLUMN = "_id";
+    private static final int DEFAULT_WINDOW_SIZE = 50;
+    private static final int DEFAULT_MAX_WINDOWS = 8;
+    // 读取行 id 时每次持有锁读取的行数
+    private static final int ROW_ID_CHUNK_SIZE = 1000;
+
+    private final RowMapper<T> mRowMapper;
+    private final int mWindowSize;
+    // 保证 Cursor 同一时间只会被一个后台线程访问
+    private final Object mCursorLock = new Object();
+    // 以下字段只在主线程访问
+    private final LruCache<Integer, Object[]> mWindows;
+    private final Set<Integer> mLoadingWindows = new HashSet<>();
+    // 替换 Cursor 前已加载的数据, 新窗口加载完成前以行 id 查找, 避免刷新时闪烁占位视图
+    private Map<Long, T> mStaleItems = new HashMap<>();
+    private String mIdColumn = DEFAULT_ID_COLUMN;
+    private Cursor mCursor;
+    private int mCount;
+    private volatile long[] mRowIds;
+    // Cursor 的版本号, 用于丢弃过期的窗口加载结果
+    private volatile int mGeneration;
+
+    public CursorItemProvider(RowMapper<T> rowMapper) {
+        this(rowMapper, DEFAULT_WINDOW_SIZE, DEFAULT_MAX_WINDOWS);
+    }
+
+    /**
+     * @param rowMapper  将 Cursor 当前行映射为数据, 在后台线程调用
+     * @param windowSize 每次加载的行数
+     * @param maxWindows 最多缓存的窗口数
+     */
+    public CursorItemProvider(RowMapper<T> rowMapper, int windowSize, int maxWindows) {
+        mRowMapper = rowMapper;
+        mWindowSize = Math.max(1, windowSize);
+        mWindows = new LruCache<>(Math.max(2, maxWindows));
+    }
+
+    /**
+     * 设置行 id 所在的列, 用于替换 Cursor 时计算差异, 默认为 _id
+     */
+    public void setIdColumn(String idColumn) {
+        mIdColumn = idColumn;
+    }
+
+    @Override
+    public int getCount() {
+        return mCount;
+    }
+
+    /**
+     * 获取 position 的数据, 所在的窗口尚未加载时返回 null 并触发加载
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int position) {
+        int window = position / mWindowSize;
+        Object[] items = mWindows.get(window);
+        // 接近窗口末尾时, 提前加载下一个窗口
+        if (position % mWindowSize >= mWindowSize * 3 / 4 && (window + 1) * mWindowSize < mCount) {
+            loadWindowIfNeed(window + 1);
+        }
+        if (items != null) {
+            return (T) items[position - window * mWindowSize];
+        }
+        loadWindowIfNeed(window);
+        long[] rowIds = mRowIds;
+        return rowIds != null && position < rowIds.length ? mStaleItems.get(rowIds[position]) : null;
+    }
+
+    /**
+     * 只读取已经加载的窗口, 不会触发加载
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected T peek(int position) {
+        int window = position / mWindowSize;
+        Object[] items = mWindows.get(window);
+        if (items != null) {
+            return (T) items[position - window * mWindowSize];
+        }
+        long[] rowIds = mRowIds;
+        return rowIds != null && position < rowIds.length ? mStaleItems.get(rowIds[position]) : null;
+    }
+
+    /**
+     * position 的数据是否已经加载
+     */
+    public boolean isLoaded(int position) {
+        return mWindows.get(position / mWindowSize) != null;
+    }
+
+    /**
+     * 替换 Cursor, 旧的 Cursor 会被关闭, 需要在主线程调用
+     * 差异计算在后台线程进行, 完成后在主线程分发刷新通知
+     */
+    public void swapCursor(final Cursor newCursor) {
+        final int generation = ++mGeneration;
+        final long[] oldRowIds = mRowIds;
+        final boolean firstCursor = mCursor == null;
+        AdapterExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (newCursor == null) {
+                    postSwapResult(generation, null, 0, oldRowIds, null, null);
+                    return;
+                }
+                final int count;
+                synchronized (mCursorLock) {
+                    count = newCursor.getCount();
+                }
+                if (firstCursor || oldRowIds == null) {
+                    // 没有可供比较的旧数据, 先展示总数, 行 id 在后台继续读取
+                    postSwapResult(generation, newCursor, count, oldRowIds, null, null);
+                    final long[] rowIds = readRowIds(newCursor, count);
+                    AdapterExecutors.postToMain(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (generation == mGeneration) {
+                                mRowIds = rowIds;
+                            }
+                        }
+                    });
+                } else {
+                    long[] rowIds = readRowIds(newCursor, count);
+                    DiffUtil.DiffResult result = rowIds == null ? null : calculateDiff(oldRowIds, rowIds);
+                    postSwapResult(generation, newCursor, count, oldRowIds, rowIds, result);
+                }
+            }
+        });
+    }
+
+    /**
+     * 关闭当前的 Cursor, 需要在主线程调用
+     */
+    public void close() {
+        mGeneration++;
+        closeCursor(mCursor);
+        mCursor = null;
+        mCount = 0;
+        mRowIds = null;
+        mWindows.evictAll();
+        mStaleItems.clear();
+    }
+
+    /**
+     * 在主线程替换 Cursor 并分发刷新通知
+     */
+    private void postSwapResult(final int generation, final Cursor newCursor, final int count,
+                                final long[] oldRowIds, final long[] newRowIds,
+                                final DiffUtil.DiffResult result) {
+        AdapterExecutors.postToMain(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mGeneration) {
+                    // 已经有更新的 Cursor
+                    closeCursor(newCursor);
+                    return;
+                }
+                // 保存已加载的数据, 用于新窗口加载完成前的展示
+                mStaleItems = collectLoadedItems();
+                mWindows.evictAll();
+                mLoadingWindows.clear();
+                Cursor oldCursor = mCursor;
+                int oldCount = mCount;
+                // 差异是基于 oldRowIds 计算的, 期间行 id 发生变化则结果失效
+                boolean diffValid = result != null && newRowIds != null && oldRowIds == mRowIds;
+                mCursor = newCursor;
+                mCount = count;
+                mRowIds = newRowIds;
+                closeCursor(oldCursor);
+                if (diffValid) {
+                    result.dispatchUpdatesTo(new ListUpdateCallback() {
+                        @Override
+                        public void onInserted(int position, int itemCount) {
+                            notifyItemRangeInserted(position, itemCount);
+                        }
+
+                        @Override
+                        public void onRemoved(int position, int itemCount) {
+                            notifyItemRangeRemoved(position, itemCount);
+                        }
+
+                        @Override
+                        public void onMoved(int fromPosition, int toPosition) {
+                            notifyItemMoved(fromPosition, toPosition);
+                        }
+
+                        @Override
+                        public void onChanged(int position, int itemCount, Object payload) {
+                            notifyItemRangeChanged(position, itemCount, payload);
+                        }
+                    });
+                } else {
+                    if (oldCount > 0) {
+                        notifyItemRangeRemoved(0, oldCount);
+                    }
+                    if (count > 0) {
+                        notifyItemRangeInserted(0, count);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 加载窗口的数据
+     */
+    private void loadWindowIfNeed(final int window) {
+        if (mCursor == null || mLoadingWindows.contains(window) || mWindows.get(window) != null) {
+            return;
+        }
+        mLoadingWindows.add(window);
+        final Cursor cursor = mCursor;
+        final int generation = mGeneration;
+        final int positionStart = window * mWindowSize;
+        final int itemCount = Math.min(mWindowSize, mCount - positionStart);
+        AdapterExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Object[] items = new Object[itemCount];
+                synchronized (mCursorLock) {
+                    if (generation != mGeneration || cursor.isClosed()) return;
+                    for (int i = 0; i < itemCount; i++) {
+                        if (!cursor.moveToPosition(positionStart + i)) break;
+                        items[i] = mRowMapper.map(cursor);
+                    }
+                }
+                AdapterExecutors.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation != mGeneration) return;
+                        mLoadingWindows.remove(window);
+                        mWindows.put(window, items);
+                        // 重新绑定占位的条目
+                        notifyItemRangeChanged(positionStart, itemCount, null);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 读取所有行的 id, 不存在 id 列时返回 null
+     */
+    private long[] readRowIds(Cursor cursor, int count) {
+        int columnIndex;
+        synchronized (mCursorLock) {
+            if (cursor.isClosed()) return null;
+            columnIndex = cursor.getColumnIndex(mIdColumn);
+        }
+        if (columnIndex < 0) {
+            Log.w(TAG, "Column " + mIdColumn + " not found, cursor swaps will refresh the whole list.");
+            return null;
+        }
+        long[] rowIds = new long[count];
+        // 分段读取, 段与段之间释放锁, 使窗口的加载可以穿插进行, 不必等待所有行 id 读取完成
+        for (int start = 0; start < count; start += ROW_ID_CHUNK_SIZE) {
+            int end = Math.min(count, start + ROW_ID_CHUNK_SIZE);
+            synchronized (mCursorLock) {
+                if (cursor.isClosed()) return null;
+                for (int i = start; i < end; i++) {
+                    if (!cursor.moveToPosition(i)) return rowIds;
+                    rowIds[i] = cursor.getLong(columnIndex);
+                }
+            }
+        }
+        return rowIds;
+    }
+
+    /**
+     * 根据行 id 计算差异, 相同 id 的行视为内容未变, 其所在的窗口重新加载后会再次绑定
+     */
+    private DiffUtil.DiffResult calculateDiff(final long[] oldRowIds, final long[] newRowIds) {
+        return DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldRowIds.length;
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newRowIds.length;
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return oldRowIds[oldItemPosition] == newRowIds[newItemPosition];
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return true;
+            }
+        }, false);
+    }
+
+    /**
+     * 收集当前已加载的数据, 以行 id 为 key
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, T> collectLoadedItems() {
+        Map<Long, T> items = new HashMap<>();
+        long[] rowIds = mRowIds;
+        if (rowIds == null) return items;
+        for (Map.Entry<Integer, Object[]> entry : mWindows.snapshot().entrySet()) {
+            int positionStart = entry.getKey() * mWindowSize;
+            Object[] window = entry.getValue();
+            for (int i = 0; i < window.length && positionStart + i < rowIds.length; i++) {
+                items.put(rowIds[positionStart + i], (T) window[i]);
+            }
+        }
+        return items;
+    }
+
+    private void closeCursor(final Cursor cursor) {
+        if (cursor == null) return;
+        AdapterExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mCursorLock) {
+                    if (!cursor.isClosed()) {
+                        cursor.close();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 将 Cursor 的当前行映射为数据
+     */
+    public interface RowMapper<T> {
+        T map(Cursor cursor);
+    }
+
+}
@@ -0,0 +1,239 @@
+package com.sharry.librecyclerview;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * 不可变的数据快照
+ * <p>
+ * 1. 快照一经创建便不可修改, 可以在任意线程安全的读取
+ * 2. 所有的修改操作都会返回一个新的快照, 原快照保持不变
+ * 3. 内部采用分块存储, 新快照只会拷贝受影响的数据块, 其余数据块与原快照共享,
+ * 因此修改大集合时无需完整拷贝
+ * <p>
+ * 通过 {@link SRecyclerAdapter#submitSnapshot} 提交给 Adapter, 由 Adapter 在主线程原子替换并计算刷新通知
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public final class DataSnapshot<T> extends AbstractList<T> implements RandomAccess {
+
+    // 数据块的期望大小
+    private static final int CHUNK_SIZE = 64;
+    // 数据块的最大长度, 超过后进行拆分
+    private static final int MAX_CHUNK_SIZE = CHUNK_SIZE * 2;
+    // 数据块的最小长度, 小于时与相邻的数据块合并
+    private static final int MIN_CHUNK_SIZE = CHUNK_SIZE / 4;
+
+    private static final DataSnapshot EMPTY = new DataSnapshot(new Object[0][], new int[]{0});
+
+    // 数据块
+    private final Object[][] mChunks;
+    // 每个数据块起始位置的索引, 长度为 mChunks.length + 1, 最后一个元素为总长度
+    private final int[] mOffsets;
+
+    private DataSnapshot(Object[][] chunks, int[] offsets) {
+        mChunks = chunks;
+        mOffsets = offsets;
+    }
+
+    /**
+     * 获取一个空快照
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> DataSnapshot<T> empty() {
+        return (DataSnapshot<T>) EMPTY;
+    }
+
+    /**
+     * 通过集合创建快照, 传入的已经是快照时直接返回, 快照不可变, 按父类型读取是安全的
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> DataSnapshot<T> copyOf(Collection<? extends T> items) {
+        if (items instanceof DataSnapshot) {
+            return (DataSnapshot<T>) items;
+        }
+        if (items == null || items.isEmpty()) {
+            return empty();
+        }
+        return DataSnapshot.<T>empty().insertAll(0, items);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        int chunkIndex = chunkIndexOf(index);
+        return (T) mChunks[chunkIndex][index - mOffsets[chunkIndex]];
+    }
+
+    @Override
+    public int size() {
+        return mOffsets[mChunks.length];
+    }
+
+    /**
+     * 在尾部追加数据
+     */
+    public DataSnapshot<T> append(T item) {
+        return insert(size(), item);
+    }
+
+    /**
+     * 在指定位置插入数据
+     */
+    public DataSnapshot<T> insert(int index, T item) {
+        checkPositionIndex(index);
+        return splice(index, 0, new Object[]{item});
+    }
+
+    /**
+     * 在指定位置插入一组数据
+     */
+    public DataSnapshot<T> insertAll(int index, Collection<? extends T> items) {
+        checkPositionIndex(index);
+        if (items == null || items.isEmpty()) {
+            return this;
+        }
+        return splice(index, 0, items.toArray());
+    }
+
+    /**
+     * 移除指定位置的数据
+     */
+    public DataSnapshot<T> removeAt(int index) {
+        return removeItems(index, 1);
+    }
+
+    /**
+     * 移除 [positionStart, positionStart + itemCount) 区间的数据
+     */
+    public DataSnapshot<T> removeItems(int positionStart, int itemCount) {
+        checkRange(positionStart, itemCount);
+        if (itemCount == 0) {
+            return this;
+        }
+        return splice(positionStart, itemCount, new Object[0]);
+    }
+
+    /**
+     * 替换指定位置的数据
+     */
+    public DataSnapshot<T> replace(int index, T item) {
+        checkRange(index, 1);
+        return splice(index, 1, new Object[]{item});
+    }
+
+    /**
+     * 将 fromPosition 的数据移动到 toPosition
+     */
+    public DataSnapshot<T> move(int fromPosition, int toPosition) {
+        checkRange(fromPosition, 1);
+        checkRange(toPosition, 1);
+        if (fromPosition == toPosition) {
+            return this;
+        }
+        T item = get(fromPosition);
+        return removeAt(fromPosition).insert(toPosition, item);
+    }
+
+    /**
+     * 将 [index, index + removeCount) 替换为 inserted
+     * 只有受影响的数据块会被重新创建, 其余数据块直接复用
+     */
+    private DataSnapshot<T> splice(int index, int removeCount, Object[] inserted) {
+        int chunkCount = mChunks.length;
+        int newSize = size() - removeCount + inserted.length;
+        if (newSize == 0) {
+            return empty();
+        }
+        // 1. 确定受影响的数据块区间 [firstChunk, lastChunk]
+        int firstChunk, lastChunk;
+        if (chunkCount == 0) {
+            firstChunk = 0;
+            lastChunk = -1;
+        } else {
+            firstChunk = index == size() ? chunkCount - 1 : chunkIndexOf(index);
+            lastChunk = removeCount == 0 ? firstChunk : chunkIndexOf(index + removeCount - 1);
+            // 结果过小时与前一个数据块合并, 防止数据块碎片化
+            int affected = mOffsets[lastChunk + 1] - mOffsets[firstChunk] - removeCount + inserted.length;
+            if (affected < MIN_CHUNK_SIZE && firstChunk > 0
+                    && affected + mChunks[firstChunk - 1].length <= MAX_CHUNK_SIZE) {
+                firstChunk--;
+            }
+        }
+        // 2. 拼接受影响区间的数据
+        int regionStart = chunkCount == 0 ? 0 : mOffsets[firstChunk];
+        int regionEnd = chunkCount == 0 ? 0 : mOffsets[lastChunk + 1];
+        int regionSize = regionEnd - regionStart - removeCount + inserted.length;
+        Object[] region = new Object[regionSize];
+        int cursor = 0;
+        for (int i = firstChunk; i <= lastChunk; i++) {
+            Object[] chunk = mChunks[i];
+            int chunkStart = mOffsets[i];
+            for (int j = 0; j < chunk.length; j++) {
+                int globalIndex = chunkStart + j;
+                if (globalIndex == index) {
+                    System.arraycopy(inserted, 0, region, cursor, inserted.length);
+                    cursor += inserted.length;
+                }
+                if (globalIndex < index || globalIndex >= index + removeCount) {
+                    region[cursor++] = chunk[j];
+                }
+            }
+        }
+        if (index == regionEnd) {
+            // 插入到受影响区间的末尾
+            System.arraycopy(inserted, 0, region, cursor, inserted.length);
+        }
+        // 3. 将受影响区间重新分块
+        int regionChunkCount = regionSize == 0 ? 0
+                : regionSize <= MAX_CHUNK_SIZE ? 1 : (regionSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        int newChunkCount = chunkCount - (lastChunk - firstChunk + 1) + regionChunkCount;
+        Object[][] newChunks = new Object[newChunkCount][];
+        System.arraycopy(mChunks, 0, newChunks, 0, firstChunk);
+        if (regionChunkCount == 1) {
+            newChunks[firstChunk] = region;
+        } else {
+            for (int i = 0; i < regionChunkCount; i++) {
+                int from = i * CHUNK_SIZE;
+                newChunks[firstChunk + i] = Arrays.copyOfRange(region, from, Math.min(from + CHUNK_SIZE, regionSize));
+            }
+        }
+        System.arraycopy(mChunks, lastChunk + 1, newChunks, firstChunk + regionChunkCount,
+                chunkCount - lastChunk - 1);
+        // 4. 重新计算数据块的偏移量
+        int[] newOffsets = new int[newChunkCount + 1];
+        for (int i = 0; i < newChunkCount; i++) {
+            newOffsets[i + 1] = newOffsets[i] + newChunks[i].length;
+        }
+        return new DataSnapshot<>(newChunks, newOffsets);
+    }
+
+    /**
+     * 二分查找 index 所在的数据块
+     */
+    private int chunkIndexOf(int index) {
+        int result = Arrays.binarySearch(mOffsets, 0, mChunks.length, index);
+        return result >= 0 ? result : -result - 2;
+    }
+
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private void checkRange(int positionStart, int itemCount) {
+        if (positionStart < 0 || itemCount < 0 || positionStart + itemCount > size()) {
+            throw new IndexOutOfBoundsException("Range: [" + positionStart + ", "
+                    + (positionStart + itemCount) + "), Size: " + size());
+        }
+    }
+
+}
@@ -0,0 +1,334 @@
+package com.sharry.librecyclerview;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在后台线程过滤 {@link SRecyclerAdapter} 数据的过滤引擎
+ * <p>
+ * 1. 过滤条件在后台线程执行, 每次调用 {@link #filter} 都会取消尚未完成的过滤
+ * 2. 新的查询是上一次查询的延伸时(如输入时追加字符), 只在上一次的结果中过滤
+ * 3. 过滤结果在主线程再次确认未过期后, 通过 {@link SRecyclerAdapter#submitSnapshot} 提交,
+ * 由 Adapter 计算差异并分发区间刷新通知
+ * 4. 可通过 {@link #setTokenizer} 预先构建分词索引, 使用前缀查找代替逐条过滤
+ * <p>
+ * 使用方式:
+ * <pre>
+ * FilterEngine&lt;User&gt; engine = new FilterEngine&lt;&gt;(adapter, matcher);
+ * engine.setSource(users);
+ * engine.filter(editText.getText().toString());
+ * </pre>
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class FilterEngine<T> {
+
+    // 每处理多少条数据检查一次是否被取消
+    private static final int CANCEL_CHECK_INTERVAL = 256;
+
+    private final SRecyclerAdapter<T> mAdapter;
+    private final Matcher<T> mMatcher;
+    private Tokenizer<T> mTokenizer;
+    private boolean mIncrementalEnabled = true;
+    private OnFilterResultListener mListener;
+    // 当前的完整数据, 以及基于它构建的索引
+    private volatile Source<T> mSource = new Source<>(DataSnapshot.<T>empty(), null);
+    // 上一次生效的过滤结果, 用于增量过滤, 只在主线程写入
+    private volatile Result<T> mLastResult;
+    // 过滤的版本号, 用于取消过期的过滤
+    private final AtomicInteger mGeneration = new AtomicInteger();
+
+    /**
+     * @param matcher 过滤条件, 在后台线程调用
+     */
+    public FilterEngine(SRecyclerAdapter<T> adapter, Matcher<T> matcher) {
+        mAdapter = adapter;
+        mMatcher = matcher;
+    }
+
+    /**
+     * 设置分词器, 设置后 setSource 时会在后台线程构建分词索引, 查询时按照前缀查找
+     * 需要在 setSource 之前调用
+     */
+    public void setTokenizer(Tokenizer<T> tokenizer) {
+        mTokenizer = tokenizer;
+    }
+
+    /**
+     * 是否开启增量过滤, 默认开启
+     * <p>
+     * 只有当 "匹配查询 query + suffix 的数据一定匹配查询 query" 时才能开启, 例如包含/前缀匹配
+     */
+    public void setIncrementalEnabled(boolean enabled) {
+        mIncrementalEnabled = enabled;
+    }
+
+    public void setOnFilterResultListener(OnFilterResultListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * 设置需要过滤的完整数据, 设置后需要重新调用 filter
+     */
+    public void setSource(Collection<? extends T> items) {
+        // 传入的快照会被直接复用
+        final DataSnapshot<T> snapshot = DataSnapshot.copyOf(items);
+        mLastResult = null;
+        final Tokenizer<T> tokenizer = mTokenizer;
+        if (tokenizer == null) {
+            mSource = new Source<>(snapshot, null);
+            return;
+        }
+        // 索引构建完成前, 使用逐条过滤
+        final Source<T> source = new Source<>(snapshot, null);
+        mSource = source;
+        AdapterExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                TokenIndex index = TokenIndex.build(snapshot, tokenizer);
+                // 期间数据已被替换, 丢弃本次的索引
+                if (mSource == source) {
+                    mSource = new Source<>(snapshot, index);
+                }
+            }
+        });
+    }
+
+    /**
+     * 过滤数据, 可以在任意线程调用, 尚未完成的过滤会被取消
+     *
+     * @param query 为 null 或空时展示完整数据
+     */
+    public void filter(String query) {
+        final String normalized = query == null ? "" : query.trim().toLowerCase(Locale.getDefault());
+        final int generation = mGeneration.incrementAndGet();
+        final Source<T> source = mSource;
+        final Result<T> lastResult = mLastResult;
+        AdapterExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mGeneration.get()) return;
+                final DataSnapshot<T> result = performFilter(generation, source, lastResult, normalized);
+                if (result == null) return;
+                // 在主线程确认并提交, 保证过期的结果不会在更新的结果之后提交
+                AdapterExecutors.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishResult(generation, source, normalized, result);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * 取消尚未完成的过滤
+     */
+    public void cancel() {
+        mGeneration.incrementAndGet();
+    }
+
+    /**
+     * 主线程中提交过滤结果
+     */
+    private void publishResult(int generation, Source<T> source, String query, DataSnapshot<T> result) {
+        // 被取消或期间数据已被替换
+        if (generation != mGeneration.get() || source != mSource) return;
+        mLastResult = new Result<>(source.items, query, result);
+        mAdapter.submitSnapshot(result);
+        if (mListener != null) {
+            mListener.onFilterResult(query, result.size());
+        }
+    }
+
+    /**
+     * 执行过滤, 被取消时返回 null
+     */
+    private DataSnapshot<T> performFilter(int generation, Source<T> source, Result<T> lastResult,
+                                          String query) {
+        if (query.isEmpty()) {
+            return source.items;
+        }
+        if (source.index != null) {
+            return source.index.search(source.items, query);
+        }
+        List<T> candidates = source.items;
+        // 新的查询是上一次查询的延伸, 只需在上一次的结果中过滤
+        if (mIncrementalEnabled && lastResult != null && lastResult.source == source.items
+                && !lastResult.query.isEmpty() && query.startsWith(lastResult.query)) {
+            candidates = lastResult.items;
+        }
+        List<T> matched = new ArrayList<>();
+        for (int i = 0, size = candidates.size(); i < size; i++) {
+            if (i % CANCEL_CHECK_INTERVAL == 0 && generation != mGeneration.get()) {
+                return null;
+            }
+            T item = candidates.get(i);
+            if (mMatcher.matches(item, query)) {
+                matched.add(item);
+            }
+        }
+        return DataSnapshot.copyOf(matched);
+    }
+
+    /**
+     * 过滤条件
+     */
+    public interface Matcher<T> {
+
+        /**
+         * @param query 已去除首尾空格并转为小写的查询
+         */
+        boolean matches(T item, String query);
+    }
+
+    /**
+     * 分词器, 用于构建前缀查找的索引
+     */
+    public interface Tokenizer<T> {
+
+        /**
+         * @return 数据的所有分词, 需要转为小写
+         */
+        String[] tokenize(T item);
+    }
+
+    /**
+     * 过滤结果的回调
+     */
+    public interface OnFilterResultListener {
+        void onFilterResult(String query, int count);
+    }
+
+    /**
+     * 完整的数据与对应的分词索引
+     */
+    private static class Source<T> {
+
+        final DataSnapshot<T> items;
+        final TokenIndex index;
+
+        Source(DataSnapshot<T> items, TokenIndex index) {
+            this.items = items;
+            this.index = index;
+        }
+    }
+
+    /**
+     * 一次过滤的结果
+     */
+    private static class Result<T> {
+
+        final DataSnapshot<T> source;
+        final String query;
+        final DataSnapshot<T> items;
+
+        Result(DataSnapshot<T> source, String query, DataSnapshot<T> items) {
+            this.source = source;
+            this.query = query;
+            this.items = items;
+        }
+    }
+
+    /**
+     * 分词索引, 所有分词按字典序排列, 查询时二分查找前缀
+     */
+    private static class TokenIndex {
+
+        private final String[] mTokens;
+        // 分词所属数据的位置
+        private final int[] mOwners;
+
+        private TokenIndex(String[] tokens, int[] owners) {
+            mTokens = tokens;
+            mOwners = owners;
+        }
+
+        static <T> TokenIndex build(List<T> items, Tokenizer<T> tokenizer) {
+            List<Entry> entries = new ArrayList<>();
+            for (int i = 0, size = items.size(); i < size; i++) {
+                String[] tokens = tokenizer.tokenize(items.get(i));
+                if (tokens == null) continue;
+                for (String token : tokens) {
+                    if (token != null && !token.isEmpty()) {
+                        entries.add(new Entry(token, i));
+                    }
+                }
+            }
+            Entry[] sorted = entries.toArray(new Entry[entries.size()]);
+            Arrays.sort(sorted, new Comparator<Entry>() {
+                @Override
+                public int compare(Entry o1, Entry o2) {
+                    return o1.token.compareTo(o2.token);
+                }
+            });
+            String[] tokens = new String[sorted.length];
+            int[] owners = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                tokens[i] = sorted[i].token;
+                owners[i] = sorted[i].owner;
+            }
+            return new TokenIndex(tokens, owners);
+        }
+
+        /**
+         * 查询中以空格分隔的每一个词, 都需要是数据某个分词的前缀
+         */
+        <T> DataSnapshot<T> search(List<T> items, String query) {
+            BitSet matched = null;
+            for (String term : query.split("\\s+")) {
+                BitSet owners = new BitSet(items.size());
+                int index = lowerBound(term);
+                while (index < mTokens.length && mTokens[index].startsWith(term)) {
+                    owners.set(mOwners[index++]);
+                }
+                if (matched == null) {
+                    matched = owners;
+                } else {
+                    matched.and(owners);
+                }
+                if (matched.isEmpty()) break;
+            }
+            // 按照原始顺序输出
+            List<T> result = new ArrayList<>(matched.cardinality());
+            for (int i = matched.nextSetBit(0); i >= 0; i = matched.nextSetBit(i + 1)) {
+                result.add(items.get(i));
+            }
+            return DataSnapshot.copyOf(result);
+        }
+
+        private int lowerBound(String term) {
+            int low = 0;
+            int high = mTokens.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (mTokens[middle].compareTo(term) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static class Entry {
+
+            final String token;
+            final int owner;
+
+            Entry(String token, int owner) {
+                this.token = token;
+                this.owner = owner;
+            }
+        }
+    }
+
+}
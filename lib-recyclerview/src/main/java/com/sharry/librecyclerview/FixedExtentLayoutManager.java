@@ -0,0 +1,692 @@
+package com.sharry.librecyclerview;
+
+import android.content.Context;
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.v7.widget.LinearSmoothScroller;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Arrays;
+
+/**
+ * 固定行高的纵向 LayoutManager, 适用于行高一致(或同一类型行高一致)的超长列表
+ * <p>
+ * 1. 数据条目的高度由 {@link #setItemExtent(int)} 或 {@link #setViewTypeExtent(int, int)} 指定, 测量时强制为该高度
+ * 2. 位置与偏移量的换算均为算术运算, 跳转/滚动条计算/可见位置查找为 O(1),
+ * 按类型指定高度时为 O(log n)
+ * 5. 按类型指定高度时, 插入/删除只对前缀和做平移并读取新条目的类型, 不会重新读取所有条目;
+ * 类型通过 {@link SRecyclerAdapter} 的 peek 读取, 不会触发 ItemProvider 的加载,
+ * 尚未加载的条目先按默认高度计算, 摆放时再按实际类型修正
+ * 3. WrapRecyclerAdapter 的页眉/页脚(包括下拉刷新与上拉加载的 View)按实际测量的高度计算
+ * 4. 大距离的滚动(如快速滚动条拖动)直接计算目标位置, 不会创建中间经过的 View
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class FixedExtentLayoutManager extends RecyclerView.LayoutManager
+        implements RecyclerView.SmoothScroller.ScrollVectorProvider {
+
+    // 数据条目的默认高度
+    private int mItemExtent;
+    // 按类型指定的数据条目高度
+    private final SparseIntArray mTypeExtents = new SparseIntArray();
+    // 页眉/页脚按类型缓存的实际高度, 包含外边距与 ItemDecoration
+    private final SparseIntArray mDecorationExtents = new SparseIntArray();
+    // 按类型指定高度时数据条目高度的前缀和, 插入/删除时增量更新, 其它变化后重建
+    private int[] mDataPrefix;
+    private boolean mDataPrefixDirty = true;
+    private RecyclerView.Adapter mAdapter;
+    // 第一个子 View 的位置, 及其顶部相对于 paddingTop 的偏移(<= 0)
+    private int mFirstPosition = 0;
+    private int mFirstTop = 0;
+    // 等待下次布局时跳转的位置
+    private int mPendingPosition = RecyclerView.NO_POSITION;
+    private int mPendingOffset = 0;
+    private final Rect mDecorInsets = new Rect();
+
+    /**
+     * @param itemExtent 数据条目的高度(px), 包含外边距与 ItemDecoration
+     */
+    public FixedExtentLayoutManager(int itemExtent) {
+        mItemExtent = itemExtent;
+    }
+
+    public FixedExtentLayoutManager(Context context, int itemExtentDp) {
+        this((int) (itemExtentDp * context.getResources().getDisplayMetrics().density + 0.5f));
+    }
+
+    /**
+     * 设置数据条目的默认高度
+     */
+    public void setItemExtent(int itemExtent) {
+        if (mItemExtent == itemExtent) return;
+        mItemExtent = itemExtent;
+        mDataPrefixDirty = true;
+        requestLayout();
+    }
+
+    /**
+     * 为某一类型的数据条目单独指定高度
+     */
+    public void setViewTypeExtent(int viewType, int extent) {
+        mTypeExtents.put(viewType, extent);
+        mDataPrefixDirty = true;
+        requestLayout();
+    }
+
+    @Override
+    public RecyclerView.LayoutParams generateDefaultLayoutParams() {
+        return new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT,
+                ViewGroup.LayoutParams.WRAP_CONTENT);
+    }
+
+    @Override
+    public boolean isAutoMeasureEnabled() {
+        return true;
+    }
+
+    @Override
+    public boolean canScrollVertically() {
+        return true;
+    }
+
+    @Override
+    public void onAttachedToWindow(RecyclerView view) {
+        super.onAttachedToWindow(view);
+        // WrapRecyclerView#getAdapter 返回的是原始的 Adapter, 这里需要包装后的 Adapter
+        RecyclerView.Adapter adapter = view instanceof WrapRecyclerView
+                ? ((WrapRecyclerView) view).getWrapAdapter() : view.getAdapter();
+        if (adapter != mAdapter) {
+            onAdapterChanged(mAdapter, adapter);
+        }
+    }
+
+    @Override
+    public void onAdapterChanged(RecyclerView.Adapter oldAdapter, RecyclerView.Adapter newAdapter) {
+        mAdapter = newAdapter;
+        mDecorationExtents.clear();
+        mDataPrefixDirty = true;
+        mFirstPosition = 0;
+        mFirstTop = 0;
+        removeAllViews();
+    }
+
+    @Override
+    public void onItemsChanged(RecyclerView recyclerView) {
+        mDataPrefixDirty = true;
+    }
+
+    @Override
+    public void onItemsAdded(RecyclerView recyclerView, int positionStart, int itemCount) {
+        insertDataPrefix(positionStart - getHeaderCount(), itemCount);
+        // 在第一个可见条目之前插入时保持其位置
+        if (positionStart <= mFirstPosition && getChildCount() > 0) {
+            mFirstPosition += itemCount;
+        }
+    }
+
+    @Override
+    public void onItemsRemoved(RecyclerView recyclerView, int positionStart, int itemCount) {
+        removeDataPrefix(positionStart - getHeaderCount(), itemCount);
+        if (positionStart + itemCount <= mFirstPosition) {
+            mFirstPosition -= itemCount;
+        } else if (positionStart <= mFirstPosition) {
+            mFirstPosition = positionStart;
+            mFirstTop = 0;
+        }
+    }
+
+    @Override
+    public void onItemsUpdated(RecyclerView recyclerView, int positionStart, int itemCount) {
+        // 条目的类型可能发生变化
+        if (mTypeExtents.size() > 0) {
+            mDataPrefixDirty = true;
+        }
+    }
+
+    @Override
+    public void onItemsMoved(RecyclerView recyclerView, int from, int to, int itemCount) {
+        mDataPrefixDirty = true;
+    }
+
+    @Override
+    public void onLayoutChildren(RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (getItemCount() == 0) {
+            removeAndRecycleAllViews(recycler);
+            mFirstPosition = 0;
+            mFirstTop = 0;
+            return;
+        }
+        if (state.isPreLayout()) return;
+        // 先回收到 Scrap, 测量页眉/页脚时可以复用已有的 ViewHolder
+        detachAndScrapAttachedViews(recycler);
+        measureDecorations(recycler);
+        int scrollOffset;
+        if (mPendingPosition != RecyclerView.NO_POSITION) {
+            int position = Math.max(0, Math.min(mPendingPosition, getItemCount() - 1));
+            scrollOffset = getOffsetOfPosition(position) - mPendingOffset;
+            mPendingPosition = RecyclerView.NO_POSITION;
+            mPendingOffset = 0;
+        } else {
+            mFirstPosition = Math.max(0, Math.min(mFirstPosition, getItemCount() - 1));
+            scrollOffset = getOffsetOfPosition(mFirstPosition) - mFirstTop;
+        }
+        setScrollOffset(clampScrollOffset(scrollOffset));
+        fillFromFirst(recycler);
+    }
+
+    @Override
+    public int scrollVerticallyBy(int dy, RecyclerView.Recycler recycler, RecyclerView.State state) {
+        if (getChildCount() == 0 || dy == 0) return 0;
+        int current = computeScrollOffset();
+        int target = clampScrollOffset(current + dy);
+        int consumed = target - current;
+        if (consumed == 0) return 0;
+        if (Math.abs(consumed) >= getVerticalSpace()) {
+            // 跳跃: 直接计算目标位置, 不创建中间经过的 View
+            removeAndRecycleAllViews(recycler);
+            setScrollOffset(target);
+            fillFromFirst(recycler);
+        } else {
+            offsetChildrenVertical(-consumed);
+            recycleOutOfBounds(recycler);
+            fillGaps(recycler);
+        }
+        return consumed;
+    }
+
+    @Override
+    public void scrollToPosition(int position) {
+        scrollToPositionWithOffset(position, 0);
+    }
+
+    /**
+     * 跳转到指定位置, O(1)
+     *
+     * @param offset 条目顶部与 RecyclerView 顶部(除去 padding)的距离
+     */
+    public void scrollToPositionWithOffset(int position, int offset) {
+        mPendingPosition = position;
+        mPendingOffset = offset;
+        requestLayout();
+    }
+
+    @Override
+    public void smoothScrollToPosition(RecyclerView recyclerView, RecyclerView.State state, int position) {
+        LinearSmoothScroller scroller = new LinearSmoothScroller(recyclerView.getContext());
+        scroller.setTargetPosition(position);
+        startSmoothScroll(scroller);
+    }
+
+    @Override
+    public PointF computeScrollVectorForPosition(int targetPosition) {
+        if (getChildCount() == 0) return null;
+        return new PointF(0, targetPosition < mFirstPosition ? -1 : 1);
+    }
+
+    @Override
+    public void collectAdjacentPrefetchPositions(int dx, int dy, RecyclerView.State state,
+                                                 LayoutPrefetchRegistry layoutPrefetchRegistry) {
+        if (getChildCount() == 0 || dy == 0) return;
+        if (dy > 0) {
+            int position = mFirstPosition + getChildCount();
+            if (position < state.getItemCount()) {
+                View last = getChildAt(getChildCount() - 1);
+                layoutPrefetchRegistry.addPosition(position,
+                        Math.max(0, getChildBottom(last) - (getHeight() - getPaddingBottom())));
+            }
+        } else if (mFirstPosition > 0) {
+            layoutPrefetchRegistry.addPosition(mFirstPosition - 1,
+                    Math.max(0, getPaddingTop() - getChildTop(getChildAt(0))));
+        }
+    }
+
+    @Override
+    public int computeVerticalScrollOffset(RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : computeScrollOffset();
+    }
+
+    @Override
+    public int computeVerticalScrollExtent(RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : getVerticalSpace();
+    }
+
+    @Override
+    public int computeVerticalScrollRange(RecyclerView.State state) {
+        return getChildCount() == 0 ? 0 : getTotalExtent();
+    }
+
+    /**
+     * 第一个可见条目的位置
+     */
+    public int findFirstVisibleItemPosition() {
+        return getChildCount() == 0 ? RecyclerView.NO_POSITION : mFirstPosition;
+    }
+
+    /**
+     * 最后一个可见条目的位置
+     */
+    public int findLastVisibleItemPosition() {
+        return getChildCount() == 0 ? RecyclerView.NO_POSITION : mFirstPosition + getChildCount() - 1;
+    }
+
+    /**
+     * 所有条目的总高度
+     */
+    public int getTotalExtent() {
+        return getOffsetOfPosition(getItemCount());
+    }
+
+    /**
+     * 条目顶部在整个列表中的偏移量
+     */
+    public int getOffsetOfPosition(int position) {
+        int headerCount = getHeaderCount();
+        int dataCount = getDataCount();
+        int offset = 0;
+        int headers = Math.min(position, headerCount);
+        for (int i = 0; i < headers; i++) {
+            offset += getDecorationExtent(i);
+        }
+        if (position <= headerCount) return offset;
+        offset += getDataOffset(Math.min(position - headerCount, dataCount));
+        for (int i = headerCount + dataCount; i < position; i++) {
+            offset += getDecorationExtent(i);
+        }
+        return offset;
+    }
+
+    /**
+     * 列表中偏移量所在的条目位置
+     */
+    public int getPositionAtOffset(int offset) {
+        int itemCount = getItemCount();
+        if (itemCount == 0) return RecyclerView.NO_POSITION;
+        int headerCount = getHeaderCount();
+        int dataCount = getDataCount();
+        int remaining = Math.max(0, offset);
+        for (int i = 0; i < headerCount; i++) {
+            int extent = getDecorationExtent(i);
+            if (remaining < extent) return i;
+            remaining -= extent;
+        }
+        int dataExtent = getDataOffset(dataCount);
+        if (dataCount > 0 && remaining < dataExtent) {
+            return headerCount + getDataIndexAtOffset(remaining);
+        }
+        remaining -= dataExtent;
+        for (int i = headerCount + dataCount; i < itemCount; i++) {
+            int extent = getDecorationExtent(i);
+            if (remaining < extent) return i;
+            remaining -= extent;
+        }
+        return itemCount - 1;
+    }
+
+    @Override
+    public Parcelable onSaveInstanceState() {
+        SavedState state = new SavedState();
+        state.mFirstPosition = mFirstPosition;
+        state.mFirstTop = mFirstTop;
+        return state;
+    }
+
+    @Override
+    public void onRestoreInstanceState(Parcelable state) {
+        if (state instanceof SavedState) {
+            mPendingPosition = ((SavedState) state).mFirstPosition;
+            mPendingOffset = ((SavedState) state).mFirstTop;
+            requestLayout();
+        }
+    }
+
+    /**
+     * 从第一个条目开始向下填充
+     */
+    private void fillFromFirst(RecyclerView.Recycler recycler) {
+        int itemCount = getItemCount();
+        int top = getPaddingTop() + mFirstTop;
+        int limit = getHeight() - getPaddingBottom();
+        for (int position = mFirstPosition; position < itemCount && top < limit; position++) {
+            View child = recycler.getViewForPosition(position);
+            addView(child);
+            top += layoutChild(child, position, top, true);
+        }
+    }
+
+    /**
+     * 小距离滚动后填充两端的空白
+     */
+    private void fillGaps(RecyclerView.Recycler recycler) {
+        int top = getPaddingTop();
+        int limit = getHeight() - getPaddingBottom();
+        // 顶部
+        while (getChildCount() > 0 && mFirstPosition > 0) {
+            int firstTop = getChildTop(getChildAt(0));
+            if (firstTop <= top) break;
+            View child = recycler.getViewForPosition(mFirstPosition - 1);
+            addView(child, 0);
+            layoutChild(child, mFirstPosition - 1, firstTop, false);
+            mFirstPosition--;
+        }
+        // 底部
+        int itemCount = getItemCount();
+        while (getChildCount() > 0) {
+            int position = mFirstPosition + getChildCount();
+            int lastBottom = getChildBottom(getChildAt(getChildCount() - 1));
+            if (lastBottom >= limit || position >= itemCount) break;
+            View child = recycler.getViewForPosition(position);
+            addView(child);
+            layoutChild(child, position, lastBottom, true);
+        }
+        if (getChildCount() > 0) {
+            mFirstTop = getChildTop(getChildAt(0)) - top;
+        }
+    }
+
+    /**
+     * 回收完全移出屏幕的条目
+     */
+    private void recycleOutOfBounds(RecyclerView.Recycler recycler) {
+        int top = getPaddingTop();
+        int limit = getHeight() - getPaddingBottom();
+        while (getChildCount() > 1 && getChildBottom(getChildAt(0)) <= top) {
+            removeAndRecycleViewAt(0, recycler);
+            mFirstPosition++;
+        }
+        while (getChildCount() > 1 && getChildTop(getChildAt(getChildCount() - 1)) >= limit) {
+            removeAndRecycleViewAt(getChildCount() - 1, recycler);
+        }
+    }
+
+    /**
+     * 测量并摆放条目
+     *
+     * @param edge    fromTop 为 true 时为条目的顶部, 否则为条目的底部
+     * @return 条目占用的高度
+     */
+    private int layoutChild(View child, int position, int edge, boolean fromTop) {
+        RecyclerView.LayoutParams params = (RecyclerView.LayoutParams) child.getLayoutParams();
+        int extent;
+        if (isDecoration(position)) {
+            measureChildWithMargins(child, 0, 0);
+            extent = getDecoratedMeasuredHeight(child) + params.topMargin + params.bottomMargin;
+            // 页眉/页脚的高度可能发生变化(如下拉刷新), 每次摆放时更新
+            mDecorationExtents.put(getItemViewType(child), extent);
+        } else {
+            extent = getDataExtent(position - getHeaderCount());
+            if (mTypeExtents.size() > 0) {
+                // 前缀和中未加载的条目按默认高度计算, 此时已绑定数据, 按实际类型修正
+                int actual = mTypeExtents.get(getItemViewType(child), mItemExtent);
+                if (actual != extent) {
+                    updateDataExtent(position - getHeaderCount(), actual - extent);
+                    extent = actual;
+                }
+            }
+            calculateItemDecorationsForChild(child, mDecorInsets);
+            int horizontalUsed = getPaddingLeft() + getPaddingRight() + params.leftMargin + params.rightMargin
+                    + mDecorInsets.left + mDecorInsets.right;
+            int verticalUsed = params.topMargin + params.bottomMargin + mDecorInsets.top + mDecorInsets.bottom;
+            int widthSpec = getChildMeasureSpec(getWidth(), getWidthMode(), horizontalUsed, params.width,
+                    canScrollHorizontally());
+            int heightSpec = View.MeasureSpec.makeMeasureSpec(Math.max(0, extent - verticalUsed),
+                    View.MeasureSpec.EXACTLY);
+            child.measure(widthSpec, heightSpec);
+        }
+        int top = fromTop ? edge : edge - extent;
+        int left = getPaddingLeft();
+        int right = left + getDecoratedMeasuredWidth(child) + params.leftMargin + params.rightMargin;
+        layoutDecoratedWithMargins(child, left, top, right, top + extent);
+        return extent;
+    }
+
+    /**
+     * 测量尚未测量过的页眉/页脚, 页眉/页脚数量很少, 只在布局时进行
+     */
+    private void measureDecorations(RecyclerView.Recycler recycler) {
+        int itemCount = getItemCount();
+        int headerCount = getHeaderCount();
+        int footerStart = headerCount + getDataCount();
+        for (int position = 0; position < itemCount; position++) {
+            if (position == headerCount) {
+                position = footerStart;
+                if (position >= itemCount) break;
+            }
+            if (mDecorationExtents.indexOfKey(mAdapter.getItemViewType(position)) >= 0) continue;
+            View child = recycler.getViewForPosition(position);
+            addView(child);
+            layoutChild(child, position, 0, true);
+            removeAndRecycleView(child, recycler);
+        }
+    }
+
+    private void setScrollOffset(int scrollOffset) {
+        mFirstPosition = Math.max(0, getPositionAtOffset(scrollOffset));
+        mFirstTop = getOffsetOfPosition(mFirstPosition) - scrollOffset;
+    }
+
+    private int computeScrollOffset() {
+        return getOffsetOfPosition(mFirstPosition) - mFirstTop;
+    }
+
+    private int clampScrollOffset(int scrollOffset) {
+        int max = Math.max(0, getTotalExtent() - getVerticalSpace());
+        return Math.max(0, Math.min(scrollOffset, max));
+    }
+
+    private int getVerticalSpace() {
+        return getHeight() - getPaddingTop() - getPaddingBottom();
+    }
+
+    private int getChildTop(View child) {
+        return getDecoratedTop(child) - ((RecyclerView.LayoutParams) child.getLayoutParams()).topMargin;
+    }
+
+    private int getChildBottom(View child) {
+        return getDecoratedBottom(child) + ((RecyclerView.LayoutParams) child.getLayoutParams()).bottomMargin;
+    }
+
+    private WrapRecyclerAdapter getWrapAdapter() {
+        return mAdapter instanceof WrapRecyclerAdapter ? (WrapRecyclerAdapter) mAdapter : null;
+    }
+
+    private int getHeaderCount() {
+        WrapRecyclerAdapter wrapAdapter = getWrapAdapter();
+        return wrapAdapter == null ? 0 : wrapAdapter.getHeaderCount();
+    }
+
+    private int getDataCount() {
+        WrapRecyclerAdapter wrapAdapter = getWrapAdapter();
+        return wrapAdapter == null ? getItemCount() : wrapAdapter.getPrimitiveAdapter().getItemCount();
+    }
+
+    private boolean isDecoration(int position) {
+        int headerCount = getHeaderCount();
+        return position < headerCount || position >= headerCount + getDataCount();
+    }
+
+    private int getDecorationExtent(int position) {
+        return mAdapter == null ? 0 : mDecorationExtents.get(mAdapter.getItemViewType(position), 0);
+    }
+
+    /**
+     * 第 index 个数据条目的高度
+     */
+    private int getDataExtent(int index) {
+        if (mTypeExtents.size() == 0) return mItemExtent;
+        int[] prefix = getDataPrefix();
+        return prefix[index + 1] - prefix[index];
+    }
+
+    /**
+     * 前 count 个数据条目的总高度
+     */
+    private int getDataOffset(int count) {
+        if (mTypeExtents.size() == 0) return count * mItemExtent;
+        return getDataPrefix()[count];
+    }
+
+    /**
+     * 数据区域中偏移量所在的数据条目
+     */
+    private int getDataIndexAtOffset(int offset) {
+        int dataCount = getDataCount();
+        if (mTypeExtents.size() == 0) {
+            return mItemExtent <= 0 ? 0 : Math.min(offset / mItemExtent, dataCount - 1);
+        }
+        int[] prefix = getDataPrefix();
+        // 查找 prefix[index] <= offset 的最大 index
+        int index = Arrays.binarySearch(prefix, 0, dataCount + 1, offset);
+        if (index < 0) {
+            index = -index - 2;
+        } else {
+            // 跳过高度为 0 的条目
+            while (index < dataCount && prefix[index + 1] == offset) {
+                index++;
+            }
+        }
+        return Math.max(0, Math.min(index, dataCount - 1));
+    }
+
+    private int[] getDataPrefix() {
+        int dataCount = getDataCount();
+        if (!mDataPrefixDirty && mDataPrefix != null && mDataPrefix.length == dataCount + 1) {
+            return mDataPrefix;
+        }
+        int headerCount = getHeaderCount();
+        int[] prefix = new int[dataCount + 1];
+        for (int i = 0; i < dataCount; i++) {
+            prefix[i + 1] = prefix[i] + peekDataExtent(headerCount + i);
+        }
+        mDataPrefix = prefix;
+        mDataPrefixDirty = false;
+        return prefix;
+    }
+
+    /**
+     * 在前缀和中插入数据条目, 只读取新条目的类型, 其后的前缀和整体平移
+     *
+     * @param start 数据条目的索引
+     */
+    private void insertDataPrefix(int start, int count) {
+        int[] prefix = mDataPrefix;
+        if (mDataPrefixDirty || prefix == null) {
+            mDataPrefixDirty = true;
+            return;
+        }
+        int oldCount = prefix.length - 1;
+        // 插入页眉/页脚或多个变化合并分发时, 无法确定对应关系, 重建
+        if (start < 0 || start > oldCount || getDataCount() != oldCount + count) {
+            mDataPrefixDirty = true;
+            return;
+        }
+        int[] updated = new int[prefix.length + count];
+        System.arraycopy(prefix, 0, updated, 0, start + 1);
+        int headerCount = getHeaderCount();
+        for (int i = start; i < start + count; i++) {
+            updated[i + 1] = updated[i] + peekDataExtent(headerCount + i);
+        }
+        int inserted = updated[start + count] - prefix[start];
+        for (int i = start + 1; i <= oldCount; i++) {
+            updated[i + count] = prefix[i] + inserted;
+        }
+        mDataPrefix = updated;
+    }
+
+    /**
+     * 从前缀和中删除数据条目, 其后的前缀和整体平移
+     *
+     * @param start 数据条目的索引
+     */
+    private void removeDataPrefix(int start, int count) {
+        int[] prefix = mDataPrefix;
+        if (mDataPrefixDirty || prefix == null) {
+            mDataPrefixDirty = true;
+            return;
+        }
+        int oldCount = prefix.length - 1;
+        if (start < 0 || start + count > oldCount || getDataCount() != oldCount - count) {
+            mDataPrefixDirty = true;
+            return;
+        }
+        int[] updated = new int[prefix.length - count];
+        System.arraycopy(prefix, 0, updated, 0, start + 1);
+        int removed = prefix[start + count] - prefix[start];
+        for (int i = start + count + 1; i <= oldCount; i++) {
+            updated[i - count] = prefix[i] - removed;
+        }
+        mDataPrefix = updated;
+    }
+
+    /**
+     * 修正第 index 个数据条目的高度
+     */
+    private void updateDataExtent(int index, int delta) {
+        int[] prefix = getDataPrefix();
+        for (int i = index + 1; i < prefix.length; i++) {
+            prefix[i] += delta;
+        }
+    }
+
+    /**
+     * 不触发数据加载的条目高度, 数据尚未加载时为默认高度
+     */
+    private int peekDataExtent(int position) {
+        int viewType;
+        if (mAdapter instanceof WrapRecyclerAdapter) {
+            viewType = ((WrapRecyclerAdapter) mAdapter).peekItemViewType(position);
+        } else if (mAdapter instanceof SRecyclerAdapter) {
+            viewType = ((SRecyclerAdapter) mAdapter).peekItemViewType(position);
+        } else {
+            viewType = mAdapter.getItemViewType(position);
+        }
+        return viewType == ViewTypeCache.INVALID_TYPE ? mItemExtent : mTypeExtents.get(viewType, mItemExtent);
+    }
+
+    /**
+     * 保存第一个条目的位置与偏移
+     */
+    static class SavedState implements Parcelable {
+
+        int mFirstPosition;
+        int mFirstTop;
+
+        SavedState() {
+        }
+
+        SavedState(Parcel in) {
+            mFirstPosition = in.readInt();
+            mFirstTop = in.readInt();
+        }
+
+        @Override
+        public int describeContents() {
+            return 0;
+        }
+
+        @Override
+        public void writeToParcel(Parcel dest, int flags) {
+            dest.writeInt(mFirstPosition);
+            dest.writeInt(mFirstTop);
+        }
+
+        public static final Creator<SavedState> CREATOR = new Creator<SavedState>() {
+            @Override
+            public SavedState createFromParcel(Parcel in) {
+                return new SavedState(in);
+            }
+
+            @Override
+            public SavedState[] newArray(int size) {
+                return new SavedState[size];
+            }
+        };
+    }
+
+}
@@ -0,0 +1,444 @@
+package com.sharry.librecyclerview;
+
+import android.view.Choreographer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按帧合并数据更新的队列
+ * <p>
+ * 1. 可以在任意线程提交以 Key 区分的插入/更新/删除操作, Key 由 {@link SRecyclerAdapter#getItemKey} 提供
+ * 2. 同一个 Key 的多次操作只保留最后一次
+ * 3. 每一帧通过 {@link Choreographer} 统一应用一次, 所有的刷新通知在一次批量操作中分发
+ * 4. 每帧的工作量受 {@link #setMaxOpsPerFrame} 与 {@link #setFrameBudget} 限制, 未处理完的操作顺延到下一帧
+ * 5. Key 到位置的索引随本队列的操作增量更新; 数据被其他途径修改后需要重建, 重建同样计入每帧的时间预算, 分摊到多帧完成
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class FrameUpdateQueue<T> {
+
+    private static final int DEFAULT_MAX_OPS_PER_FRAME = 500;
+    private static final long DEFAULT_FRAME_BUDGET_NANOS = 4_000_000L;
+    // 重建索引时每处理多少个位置检查一次时间预算
+    private static final int BUILD_CHECK_INTERVAL = 256;
+    private static final int INDEX_MISSING = -1;
+    private static final int INDEX_INVALID = -2;
+
+    private final SRecyclerAdapter<T> mAdapter;
+    // 待处理的操作, 按照 Key 去重, 保持提交顺序
+    private final LinkedHashMap<Object, PendingOp<T>> mPendingOps = new LinkedHashMap<>();
+    private final AtomicBoolean mFrameScheduled = new AtomicBoolean(false);
+    // Key 到位置的索引, 为 null 时需要重建
+    private KeyIndex mPositionIndex;
+    // 正在分帧重建的索引与下一个待索引的位置
+    private KeyIndex mBuildingIndex;
+    private int mBuildPosition;
+    private int mMaxOpsPerFrame = DEFAULT_MAX_OPS_PER_FRAME;
+    private long mFrameBudgetNanos = DEFAULT_FRAME_BUDGET_NANOS;
+    private volatile long mLastApplyLatencyNanos;
+    private volatile boolean mReleased;
+    private Monitor mMonitor;
+
+    private final Choreographer.FrameCallback mFrameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            mFrameScheduled.set(false);
+            if (mReleased) return;
+            applyPendingOps();
+        }
+    };
+
+    private final Runnable mScheduleFrameRunnable = new Runnable() {
+        @Override
+        public void run() {
+            Choreographer.getInstance().postFrameCallback(mFrameCallback);
+        }
+    };
+
+    public FrameUpdateQueue(SRecyclerAdapter<T> adapter) {
+        mAdapter = adapter;
+    }
+
+    /**
+     * 插入或更新数据, 可以在任意线程调用
+     * 已存在相同 Key 的数据时原位替换, 否则追加到尾部
+     */
+    public void upsert(T item) {
+        enqueue(mAdapter.getItemKey(item), item, false);
+    }
+
+    /**
+     * 批量插入或更新数据, 可以在任意线程调用
+     */
+    public void upsertAll(List<? extends T> items) {
+        synchronized (mPendingOps) {
+            for (T item : items) {
+                putPendingOp(mAdapter.getItemKey(item), item, false);
+            }
+        }
+        scheduleFrame();
+    }
+
+    /**
+     * 删除 Key 对应的数据, 可以在任意线程调用
+     */
+    public void delete(Object key) {
+        enqueue(key, null, true);
+    }
+
+    /**
+     * 设置每帧最多处理的操作数
+     */
+    public void setMaxOpsPerFrame(int maxOpsPerFrame) {
+        mMaxOpsPerFrame = Math.max(1, maxOpsPerFrame);
+    }
+
+    /**
+     * 设置每帧处理操作的时间预算
+     */
+    public void setFrameBudget(long budgetMillis) {
+        mFrameBudgetNanos = Math.max(1, budgetMillis) * 1_000_000L;
+    }
+
+    /**
+     * 设置队列状态的监听器, 每次应用操作后在主线程回调
+     */
+    public void setMonitor(Monitor monitor) {
+        mMonitor = monitor;
+    }
+
+    /**
+     * 获取尚未应用的操作数
+     */
+    public int getBacklogSize() {
+        synchronized (mPendingOps) {
+            return mPendingOps.size();
+        }
+    }
+
+    /**
+     * 获取最近一帧中, 最早提交的操作从提交到应用的延迟(ms)
+     */
+    public long getLastApplyLatency() {
+        return mLastApplyLatencyNanos / 1_000_000L;
+    }
+
+    /**
+     * 释放队列, 丢弃所有尚未应用的操作
+     */
+    public void release() {
+        mReleased = true;
+        synchronized (mPendingOps) {
+            mPendingOps.clear();
+        }
+    }
+
+    private void enqueue(Object key, T item, boolean delete) {
+        synchronized (mPendingOps) {
+            putPendingOp(key, item, delete);
+        }
+        scheduleFrame();
+    }
+
+    private void putPendingOp(Object key, T item, boolean delete) {
+        if (mReleased) return;
+        PendingOp<T> op = mPendingOps.get(key);
+        if (op == null) {
+            mPendingOps.put(key, new PendingOp<>(key, item, delete, System.nanoTime()));
+        } else {
+            // 同一个 Key 只保留最后一次操作, 保留最早的提交时间用于统计延迟
+            op.item = item;
+            op.delete = delete;
+        }
+    }
+
+    private void scheduleFrame() {
+        if (!mReleased && mFrameScheduled.compareAndSet(false, true)) {
+            AdapterExecutors.runOnMain(mScheduleFrameRunnable);
+        }
+    }
+
+    /**
+     * 在主线程中应用本帧的操作
+     */
+    private void applyPendingOps() {
+        long startNanos = System.nanoTime();
+        final long deadlineNanos = startNanos + mFrameBudgetNanos;
+        // 索引未在本帧的预算内重建完成时, 操作顺延到下一帧
+        if (!buildPositionIndex(deadlineNanos)) {
+            scheduleFrame();
+            return;
+        }
+        final List<PendingOp<T>> ops = new ArrayList<>();
+        int backlog;
+        synchronized (mPendingOps) {
+            Iterator<PendingOp<T>> iterator = mPendingOps.values().iterator();
+            while (iterator.hasNext() && ops.size() < mMaxOpsPerFrame) {
+                ops.add(iterator.next());
+                iterator.remove();
+            }
+            backlog = mPendingOps.size();
+        }
+        if (ops.isEmpty()) return;
+        final int[] appliedCount = new int[1];
+        mAdapter.batch(new SRecyclerAdapter.BatchAction<T>() {
+            @Override
+            public void run(SRecyclerAdapter<T> adapter) {
+                appliedCount[0] = applyOps(ops, deadlineNanos);
+            }
+        });
+        // 超出时间预算未处理的操作, 放回队列的头部
+        if (appliedCount[0] < ops.size()) {
+            synchronized (mPendingOps) {
+                LinkedHashMap<Object, PendingOp<T>> remaining = new LinkedHashMap<>();
+                for (PendingOp<T> op : ops.subList(appliedCount[0], ops.size())) {
+                    remaining.put(op.key, op);
+                }
+                for (Map.Entry<Object, PendingOp<T>> entry : mPendingOps.entrySet()) {
+                    PendingOp<T> newer = entry.getValue();
+                    PendingOp<T> older = remaining.get(entry.getKey());
+                    if (older != null) {
+                        older.item = newer.item;
+                        older.delete = newer.delete;
+                    } else {
+                        remaining.put(entry.getKey(), newer);
+                    }
+                }
+                mPendingOps.clear();
+                mPendingOps.putAll(remaining);
+                backlog = mPendingOps.size();
+            }
+        }
+        // 统计延迟, 索引失效时本帧可能没有应用任何操作
+        if (appliedCount[0] > 0) {
+            long oldestEnqueueNanos = Long.MAX_VALUE;
+            for (int i = 0; i < appliedCount[0]; i++) {
+                oldestEnqueueNanos = Math.min(oldestEnqueueNanos, ops.get(i).enqueueNanos);
+            }
+            mLastApplyLatencyNanos = System.nanoTime() - oldestEnqueueNanos;
+        }
+        if (mMonitor != null) {
+            mMonitor.onFrameApplied(appliedCount[0], backlog, getLastApplyLatency());
+        }
+        if (backlog > 0) {
+            scheduleFrame();
+        }
+    }
+
+    /**
+     * 应用操作: 先处理不会引起位置偏移的更新与追加, 再从后向前删除
+     *
+     * @return 实际应用的操作数
+     */
+    private int applyOps(List<PendingOp<T>> ops, long deadlineNanos) {
+        List<Integer> removePositions = new ArrayList<>();
+        List<Object> removeKeys = new ArrayList<>();
+        int applied = 0;
+        for (PendingOp<T> op : ops) {
+            if (applied > 0 && System.nanoTime() > deadlineNanos) {
+                break;
+            }
+            int position = findPosition(op.key);
+            if (position == INDEX_INVALID) {
+                // 数据被其他途径修改, 在之后的帧中重建索引后再处理
+                mPositionIndex = null;
+                break;
+            }
+            applied++;
+            if (op.delete) {
+                if (position >= 0) {
+                    removePositions.add(position);
+                    removeKeys.add(op.key);
+                }
+            } else if (position >= 0) {
+                mAdapter.replace(position, op.item);
+            } else {
+                mAdapter.add(op.item);
+                mPositionIndex.append(op.key);
+            }
+        }
+        if (!removePositions.isEmpty()) {
+            // 从后向前删除, 删除操作不会影响尚未删除的位置, 相邻的删除会被合并为区间通知
+            Collections.sort(removePositions, Collections.<Integer>reverseOrder());
+            for (Integer position : removePositions) {
+                mAdapter.remove(position);
+            }
+            if (mPositionIndex != null) {
+                for (Object key : removeKeys) {
+                    mPositionIndex.remove(key);
+                }
+                // 删除的记录过多时重建, 保持查询的效率
+                if (mPositionIndex.needsCompact()) {
+                    mPositionIndex = null;
+                }
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * 查找 Key 对应的位置
+     *
+     * @return 不存在时返回 {@link #INDEX_MISSING}, 索引失效时返回 {@link #INDEX_INVALID}
+     */
+    private int findPosition(Object key) {
+        List<T> dataSet = mAdapter.getDataSet();
+        int position = mPositionIndex.get(key);
+        // 校验索引, 数据可能被其他途径修改
+        if (position == INDEX_MISSING) {
+            return mPositionIndex.size() == dataSet.size() ? INDEX_MISSING : INDEX_INVALID;
+        }
+        if (position < dataSet.size() && equal(key, mAdapter.getItemKey(dataSet.get(position)))) {
+            return position;
+        }
+        return INDEX_INVALID;
+    }
+
+    /**
+     * 在时间预算内继续重建索引
+     *
+     * @return 索引是否可用
+     */
+    private boolean buildPositionIndex(long deadlineNanos) {
+        if (mPositionIndex != null) return true;
+        List<T> dataSet = mAdapter.getDataSet();
+        int size = dataSet.size();
+        // 重建期间数据发生了变化, 重新开始
+        if (mBuildingIndex == null || mBuildingIndex.size() > size) {
+            mBuildingIndex = new KeyIndex(size);
+            mBuildPosition = 0;
+        }
+        while (mBuildPosition < size) {
+            mBuildingIndex.append(mAdapter.getItemKey(dataSet.get(mBuildPosition++)));
+            if ((mBuildPosition & (BUILD_CHECK_INTERVAL - 1)) == 0 && System.nanoTime() > deadlineNanos) {
+                return false;
+            }
+        }
+        mPositionIndex = mBuildingIndex;
+        mBuildingIndex = null;
+        return true;
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * 队列状态的监听器
+     */
+    public interface Monitor {
+
+        /**
+         * 一帧的操作应用完成
+         *
+         * @param appliedCount 本帧应用的操作数
+         * @param backlog      剩余的操作数
+         * @param latencyMillis 本帧中最早提交的操作从提交到应用的延迟
+         */
+        void onFrameApplied(int appliedCount, int backlog, long latencyMillis);
+    }
+
+    /**
+     * Key 到位置的索引
+     * <p>
+     * 删除时不平移其余条目的位置, 而是按顺序记录被删除的原始位置,
+     * 查询时减去之前被删除的数量, 删除为 O(删除数), 查询为 O(log 删除数)
+     */
+    private static final class KeyIndex {
+
+        // 删除数超过存活数量的该比例时需要重建
+        private static final int COMPACT_RATIO = 4;
+        private static final int MIN_COMPACT_COUNT = 64;
+
+        private final HashMap<Object, Integer> mRawPositions;
+        // 有序的已删除的原始位置
+        private int[] mDeleted = new int[16];
+        private int mDeletedCount;
+        private int mRawSize;
+
+        KeyIndex(int capacity) {
+            mRawPositions = new HashMap<>(Math.max(16, capacity * 2));
+        }
+
+        int size() {
+            return mRawSize - mDeletedCount;
+        }
+
+        /**
+         * @return 不存在时返回 {@link #INDEX_MISSING}
+         */
+        int get(Object key) {
+            Integer raw = mRawPositions.get(key);
+            return raw == null ? INDEX_MISSING : raw - countDeletedBefore(raw);
+        }
+
+        /**
+         * 在尾部追加
+         */
+        void append(Object key) {
+            mRawPositions.put(key, mRawSize++);
+        }
+
+        void remove(Object key) {
+            Integer raw = mRawPositions.remove(key);
+            if (raw == null) return;
+            int index = countDeletedBefore(raw);
+            if (mDeletedCount == mDeleted.length) {
+                mDeleted = Arrays.copyOf(mDeleted, mDeletedCount * 2);
+            }
+            System.arraycopy(mDeleted, index, mDeleted, index + 1, mDeletedCount - index);
+            mDeleted[index] = raw;
+            mDeletedCount++;
+        }
+
+        boolean needsCompact() {
+            return mDeletedCount > MIN_COMPACT_COUNT && mDeletedCount * COMPACT_RATIO > size();
+        }
+
+        /**
+         * 小于 raw 的已删除位置的数量
+         */
+        private int countDeletedBefore(int raw) {
+            int low = 0;
+            int high = mDeletedCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (mDeleted[mid] < raw) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * 待处理的操作
+     */
+    private static class PendingOp<T> {
+
+        final Object key;
+        final long enqueueNanos;
+        T item;
+        boolean delete;
+
+        PendingOp(Object key, T item, boolean delete, long enqueueNanos) {
+            this.key = key;
+            this.item = item;
+            this.delete = delete;
+            this.enqueueNanos = enqueueNanos;
+        }
+    }
+
+}
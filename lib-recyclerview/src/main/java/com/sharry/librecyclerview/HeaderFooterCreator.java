@@ -0,0 +1,37 @@
+package com.sharry.librecyclerview;
+
+import android.content.Context;
+import android.view.View;
+import android.view.ViewGroup;
+
+/**
+ * 用于延迟创建页眉/页脚的 ViewCreator
+ * <p>
+ * 与直接添加 View 不同, View 只在第一次展示时创建, 滚出屏幕后随 ViewHolder 一起回收,
+ * 内存紧张时会被释放, 再次展示时重新创建
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public interface HeaderFooterCreator {
+
+    /**
+     * 创建页眉/页脚的 View
+     *
+     * @param context 上下文
+     * @param parent  RecyclerView
+     */
+    View onCreateView(Context context, ViewGroup parent);
+
+    /**
+     * 展示前绑定数据, 每次展示都会调用
+     */
+    void onBindView(View view);
+
+    /**
+     * 滚出屏幕被回收, 可以在这里释放图片等资源
+     */
+    void onReleaseView(View view);
+
+}
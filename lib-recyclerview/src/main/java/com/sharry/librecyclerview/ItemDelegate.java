@@ -0,0 +1,92 @@
+package com.sharry.librecyclerview;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.List;
+
+/**
+ * 多类型条目的代理, 配合 {@link SMultiTypeAdapter} 使用
+ * <p>
+ * 1. 每个代理负责一种数据类型的布局, ViewHolder 的创建与数据绑定
+ * 2. 通过 getMaxRecycledViews/getPreInflateCount 声明该类型的缓存池大小与预加载数量
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public abstract class ItemDelegate<T> {
+
+    // 与 RecyclerView.RecycledViewPool 的默认值保持一致
+    private static final int DEFAULT_MAX_RECYCLED_VIEWS = 5;
+
+    /**
+     * 该类型的布局文件, 同时作为 viewType 使用
+     */
+    public abstract int getLayoutResId();
+
+    /**
+     * 绑定数据
+     */
+    public abstract void convert(SViewHolder holder, T data, int position);
+
+    /**
+     * 携带 payload 的局部刷新, 默认执行完整的绑定
+     */
+    public void convert(SViewHolder holder, T data, int position, List<Object> payloads) {
+        convert(holder, data, position);
+    }
+
+    /**
+     * 创建 ViewHolder, 默认直接 inflate 布局文件
+     */
+    public SViewHolder onCreateViewHolder(LayoutInflater inflater, ViewGroup parent,
+                                          SViewHolder.OnItemClickInteraction interaction) {
+        View itemView = inflater.inflate(getLayoutResId(), parent, false);
+        return new SViewHolder(itemView, getLayoutResId(), interaction);
+    }
+
+    /**
+     * 该类型在 RecycledViewPool 中最多缓存的数量
+     */
+    public int getMaxRecycledViews() {
+        return DEFAULT_MAX_RECYCLED_VIEWS;
+    }
+
+    /**
+     * 预加载时需要提前创建的 ViewHolder 数量
+     */
+    public int getPreInflateCount() {
+        return 0;
+    }
+
+    /**
+     * 条目的点击
+     */
+    public void onItemClick(View v, T data, int position) {
+
+    }
+
+    /**
+     * 条目的长按
+     */
+    public boolean onItemLongClick(View v, T data, int position) {
+        return false;
+    }
+
+    /**
+     * 条目子元素的点击
+     */
+    public void onItemChildClick(View v, T data, int position) {
+
+    }
+
+    /**
+     * 条目子元素的长按
+     */
+    public boolean onItemChildLongClick(View v, T data, int position) {
+        return false;
+    }
+
+}
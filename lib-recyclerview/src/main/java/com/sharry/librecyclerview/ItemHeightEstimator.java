@@ -0,0 +1,233 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseIntArray;
+import android.view.View;
+
+import java.util.Arrays;
+
+/**
+ * 包级可用
+ * 按 viewType 估算条目高度, 并通过分段的前缀和计算任意位置的预估偏移量
+ * <p>
+ * 1. 每种 viewType 的高度为已测量条目的平均值, 未出现过的类型使用所有类型的平均值
+ * 2. 每 {@link #STRIDE} 个位置记录一次各类型的数量, 偏移量计算为 O(类型数 + STRIDE)
+ * 3. 数据变化后调用 {@link #invalidate()}, 由调用方在绘制之外通过 {@link #rebuild} 以 O(n) 重建,
+ * 重建前查询使用旧的索引
+ * 4. 重建时通过 peekItemViewType 读取 viewType, 不会触发按需加载的数据源加载数据, 未加载的位置使用平均高度
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class ItemHeightEstimator {
+
+    // 每隔多少个位置记录一次各类型的数量
+    private static final int STRIDE = 32;
+    // 平均值的最大样本数, 超过后新样本按比例替换旧样本
+    private static final int MAX_SAMPLES = 256;
+
+    // viewType -> 类型索引
+    private final SparseIntArray mTypeIndexes = new SparseIntArray();
+    private long[] mHeightSums = new long[4];
+    private int[] mSampleCounts = new int[4];
+    // 每个位置的类型索引
+    private short[] mPositionTypes = new short[0];
+    // mCheckpoints[i][t] 为前 i * STRIDE 个位置中类型 t 的数量
+    private int[][] mCheckpoints = {new int[0]};
+    private int mItemCount;
+    private boolean mDirty = true;
+    // 每个类型当前的预估高度, 样本或类型变化后重新计算
+    private float[] mHeights = new float[0];
+    private boolean mHeightsDirty = true;
+    // 没有任何样本时的默认高度
+    private int mDefaultHeight;
+
+    void setDefaultHeight(int defaultHeight) {
+        mDefaultHeight = defaultHeight;
+    }
+
+    /**
+     * 数据发生了变化, 需要重建
+     */
+    void invalidate() {
+        mDirty = true;
+    }
+
+    boolean isDirty() {
+        return mDirty;
+    }
+
+    /**
+     * 区间内的数据发生了变化, 只有 viewType 变化时才需要重建
+     * 例如按需加载的数据源加载完成后, 占位条目的 viewType 才能确定
+     */
+    void onItemRangeChanged(RecyclerView.Adapter adapter, int positionStart, int itemCount) {
+        if (mDirty) return;
+        int end = Math.min(positionStart + itemCount, mItemCount);
+        for (int position = positionStart; position < end; position++) {
+            if (mPositionTypes[position] != getTypeIndex(peekItemViewType(adapter, position))) {
+                mDirty = true;
+                return;
+            }
+        }
+    }
+
+    /**
+     * 记录一次实际测量的高度
+     */
+    void addSample(int viewType, int height) {
+        int index = getTypeIndex(viewType);
+        if (mSampleCounts[index] >= MAX_SAMPLES) {
+            mHeightSums[index] -= mHeightSums[index] / MAX_SAMPLES;
+        } else {
+            mSampleCounts[index]++;
+        }
+        mHeightSums[index] += height;
+        mHeightsDirty = true;
+    }
+
+    /**
+     * 记录当前所有子 View 的高度
+     */
+    void sample(RecyclerView recyclerView) {
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        if (layoutManager == null) return;
+        for (int i = 0; i < recyclerView.getChildCount(); i++) {
+            View child = recyclerView.getChildAt(i);
+            RecyclerView.ViewHolder holder = recyclerView.getChildViewHolder(child);
+            if (holder == null || holder.getItemViewType() == RecyclerView.INVALID_TYPE) continue;
+            int height = layoutManager.getDecoratedBottom(child) - layoutManager.getDecoratedTop(child);
+            addSample(holder.getItemViewType(), height);
+        }
+    }
+
+    /**
+     * 所有条目的预估总高度
+     */
+    int getTotalHeight() {
+        return getOffset(mItemCount);
+    }
+
+    /**
+     * position 位置条目顶部的预估偏移量
+     */
+    int getOffset(int position) {
+        position = Math.max(0, Math.min(position, mItemCount));
+        float[] heights = getHeights();
+        int checkpoint = position / STRIDE;
+        float offset = getCheckpointOffset(checkpoint, heights);
+        for (int i = checkpoint * STRIDE; i < position; i++) {
+            offset += heights[mPositionTypes[i]];
+        }
+        return Math.round(offset);
+    }
+
+    /**
+     * 预估偏移量所在的条目位置
+     */
+    int getPosition(int offset) {
+        if (mItemCount == 0) return RecyclerView.NO_POSITION;
+        float[] heights = getHeights();
+        // 二分查找所在的分段
+        int low = 0;
+        int high = mCheckpoints.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (getCheckpointOffset(mid, heights) <= offset) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        float current = getCheckpointOffset(low, heights);
+        int end = Math.min(mItemCount, (low + 1) * STRIDE);
+        for (int position = low * STRIDE; position < end; position++) {
+            current += heights[mPositionTypes[position]];
+            if (current > offset) return position;
+        }
+        return Math.min(end, mItemCount - 1);
+    }
+
+    private float getCheckpointOffset(int checkpoint, float[] heights) {
+        int[] counts = mCheckpoints[checkpoint];
+        float offset = 0;
+        for (int type = 0; type < counts.length; type++) {
+            offset += counts[type] * heights[type];
+        }
+        return offset;
+    }
+
+    /**
+     * 每个类型当前的预估高度
+     */
+    private float[] getHeights() {
+        if (!mHeightsDirty) return mHeights;
+        mHeightsDirty = false;
+        int typeCount = mTypeIndexes.size();
+        long totalSum = 0;
+        int totalCount = 0;
+        for (int i = 0; i < typeCount; i++) {
+            totalSum += mHeightSums[i];
+            totalCount += mSampleCounts[i];
+        }
+        float fallback = totalCount == 0 ? mDefaultHeight : (float) totalSum / totalCount;
+        if (mHeights.length != typeCount) {
+            mHeights = new float[typeCount];
+        }
+        for (int i = 0; i < typeCount; i++) {
+            mHeights[i] = mSampleCounts[i] == 0 ? fallback : (float) mHeightSums[i] / mSampleCounts[i];
+        }
+        return mHeights;
+    }
+
+    /**
+     * 重建每个位置的类型与分段的类型数量
+     */
+    void rebuild(RecyclerView.Adapter adapter) {
+        int itemCount = adapter == null ? 0 : adapter.getItemCount();
+        mItemCount = itemCount;
+        if (mPositionTypes.length < itemCount) {
+            mPositionTypes = new short[itemCount];
+        }
+        for (int position = 0; position < itemCount; position++) {
+            mPositionTypes[position] = (short) getTypeIndex(peekItemViewType(adapter, position));
+        }
+        int typeCount = mTypeIndexes.size();
+        int[][] checkpoints = new int[itemCount / STRIDE + 1][];
+        int[] counts = new int[typeCount];
+        for (int checkpoint = 0; checkpoint < checkpoints.length; checkpoint++) {
+            checkpoints[checkpoint] = Arrays.copyOf(counts, typeCount);
+            int end = Math.min(itemCount, (checkpoint + 1) * STRIDE);
+            for (int position = checkpoint * STRIDE; position < end; position++) {
+                counts[mPositionTypes[position]]++;
+            }
+        }
+        mCheckpoints = checkpoints;
+        mDirty = false;
+    }
+
+    /**
+     * 未加载的位置返回 {@link ViewTypeCache#INVALID_TYPE}, 作为一个没有样本的类型, 使用平均高度
+     */
+    private static int peekItemViewType(RecyclerView.Adapter adapter, int position) {
+        if (adapter instanceof WrapRecyclerAdapter) {
+            return ((WrapRecyclerAdapter) adapter).peekItemViewType(position);
+        }
+        return adapter.getItemViewType(position);
+    }
+
+    private int getTypeIndex(int viewType) {
+        int index = mTypeIndexes.get(viewType, -1);
+        if (index >= 0) return index;
+        index = mTypeIndexes.size();
+        mTypeIndexes.put(viewType, index);
+        mHeightsDirty = true;
+        if (index >= mHeightSums.length) {
+            mHeightSums = Arrays.copyOf(mHeightSums, index * 2);
+            mSampleCounts = Arrays.copyOf(mSampleCounts, index * 2);
+        }
+        return index;
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.util.ListUpdateCallback;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 条目数据的提供者
+ * <p>
+ * 1. 只需提供条目数量与指定位置的数据, {@link SRecyclerAdapter} 无需持有完整的数据集合
+ * 2. 数据发生变化时, 通过 notifyItemXXX 系列方法通知 Adapter 刷新
+ * 3. 通过 {@link CachedItemProvider} 可为耗时的数据源添加按区间加载的 LRU 缓存
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public abstract class ItemProvider<T> {
+
+    // 绑定的 Adapter 的刷新回调
+    private ListUpdateCallback mUpdateCallback;
+
+    /**
+     * 获取条目的数量
+     */
+    public abstract int getCount();
+
+    /**
+     * 获取 position 位置的数据
+     */
+    public abstract T get(int position);
+
+    /**
+     * 获取已经在内存中的数据, 不会触发加载, 用于滚动条预估等不应产生 IO 的场景
+     * 默认为 get, 按需加载的数据源需要复写, 未加载时返回 null
+     */
+    protected T peek(int position) {
+        return get(position);
+    }
+
+    /**
+     * 获取条目的唯一标识, 作为 {@link SRecyclerAdapter#getItemKey} 的默认值
+     * 默认为数据本身, get 返回可复用对象的数据源需要复写, 返回不可变的标识
+     */
+    protected Object getItemKey(T item) {
+        return item;
+    }
+
+    /**
+     * 获取条目内容的哈希值, 作为 {@link SRecyclerAdapter#getItemContentHash} 的默认值
+     */
+    protected int getItemContentHash(T item) {
+        return item == null ? 0 : item.hashCode();
+    }
+
+    /**
+     * 获取 [positionStart, positionStart + itemCount) 区间的数据, 用于区间预取
+     * 批量读取更高效的数据源可以复写该方法
+     */
+    public void loadRange(int positionStart, int itemCount, List<T> out) {
+        for (int i = positionStart; i < positionStart + itemCount; i++) {
+            out.add(get(i));
+        }
+    }
+
+    /**
+     * 通知区间数据插入
+     */
+    protected final void notifyItemRangeInserted(int positionStart, int itemCount) {
+        if (mUpdateCallback != null) {
+            mUpdateCallback.onInserted(positionStart, itemCount);
+        }
+    }
+
+    /**
+     * 通知区间数据移除
+     */
+    protected final void notifyItemRangeRemoved(int positionStart, int itemCount) {
+        if (mUpdateCallback != null) {
+            mUpdateCallback.onRemoved(positionStart, itemCount);
+        }
+    }
+
+    /**
+     * 通知区间数据变更
+     */
+    protected final void notifyItemRangeChanged(int positionStart, int itemCount, Object payload) {
+        if (mUpdateCallback != null) {
+            mUpdateCallback.onChanged(positionStart, itemCount, payload);
+        }
+    }
+
+    /**
+     * 通知数据移动
+     */
+    protected final void notifyItemMoved(int fromPosition, int toPosition) {
+        if (mUpdateCallback != null) {
+            mUpdateCallback.onMoved(fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * 绑定刷新回调
+     */
+    void setUpdateCallback(ListUpdateCallback updateCallback) {
+        mUpdateCallback = updateCallback;
+    }
+
+    /**
+     * 以只读 List 的形式访问数据, 不会拷贝数据
+     */
+    List<T> asList() {
+        return new ProviderList<>(this);
+    }
+
+    /**
+     * 基于 ItemProvider 的只读 List
+     */
+    private static class ProviderList<T> extends AbstractList<T> implements RandomAccess {
+
+        private final ItemProvider<T> mProvider;
+
+        ProviderList(ItemProvider<T> provider) {
+            mProvider = provider;
+        }
+
+        @Override
+        public T get(int index) {
+            return mProvider.get(index);
+        }
+
+        @Override
+        public int size() {
+            return mProvider.getCount();
+        }
+    }
+
+}
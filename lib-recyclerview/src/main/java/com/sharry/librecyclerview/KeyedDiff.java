@@ -0,0 +1,268 @@
+package com.sharry.librecyclerview;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 包级可用
+ * 基于条目唯一标识的差异计算, 适用于数据量大且移动较多的场景
+ * <p>
+ * 1. 通过哈希表匹配新旧条目, 不存在于新数据的条目为删除, 不存在于旧数据的条目为插入
+ * 2. 保留的条目中, 新位置的最长递增子序列保持不动, 其余条目为移动
+ * 3. 整体复杂度为 O((N + M) log N), DiffUtil 为 O((N + M) D), 编辑次数 D 较大时明显更快,
+ * 但计算结果不保证是最少的操作
+ * <p>
+ * 刷新通知的顺序: 从后向前删除, 从前向后插入/移动, 最后为内容变化, 写入 {@link UpdateOpBatcher} 合并相邻操作
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class KeyedDiff {
+
+    private static final int NOT_FOUND = -1;
+    // 小于该数量时直接使用 DiffUtil
+    private static final int MIN_KEYED_SIZE = 1000;
+    // 预估的编辑次数小于该值时, DiffUtil 的耗时可以接受且结果更少
+    private static final int MAX_MYERS_EDITS = 64;
+    // 预估编辑次数时的采样数量
+    private static final int SAMPLE_COUNT = 32;
+
+    private KeyedDiff() {
+    }
+
+    /**
+     * 根据数据量与预估的变化比例, 判断是否使用基于唯一标识的差异计算
+     */
+    static boolean shouldUseKeyedDiff(Callback callback) {
+        int oldSize = callback.getOldListSize();
+        int newSize = callback.getNewListSize();
+        if (oldSize + newSize < MIN_KEYED_SIZE) return false;
+        // 1. 去除首尾相同的部分, 剩余部分的大小为编辑次数的上界
+        int minSize = Math.min(oldSize, newSize);
+        int prefix = 0;
+        while (prefix < minSize && equal(callback.getOldItemKey(prefix), callback.getNewItemKey(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < minSize - prefix && equal(callback.getOldItemKey(oldSize - 1 - suffix),
+                callback.getNewItemKey(newSize - 1 - suffix))) {
+            suffix++;
+        }
+        int oldMiddle = oldSize - prefix - suffix;
+        int newMiddle = newSize - prefix - suffix;
+        if (oldMiddle + newMiddle <= MAX_MYERS_EDITS) return false;
+        // 2. 在剩余部分中采样, 按照相同位置标识不同的比例估算编辑次数
+        int middle = Math.min(oldMiddle, newMiddle);
+        if (middle == 0) return true;
+        int samples = Math.min(SAMPLE_COUNT, middle);
+        int mismatches = 0;
+        for (int i = 0; i < samples; i++) {
+            int offset = prefix + (int) ((long) i * middle / samples);
+            if (!equal(callback.getOldItemKey(offset), callback.getNewItemKey(offset))) {
+                mismatches++;
+            }
+        }
+        long estimatedEdits = Math.abs(oldMiddle - newMiddle) + (long) middle * mismatches / samples;
+        return estimatedEdits > MAX_MYERS_EDITS;
+    }
+
+    /**
+     * 计算差异
+     *
+     * @return 记录了刷新通知的 UpdateOpBatcher, 存在重复的标识时返回 null
+     */
+    static UpdateOpBatcher calculate(Callback callback) {
+        int oldSize = callback.getOldListSize();
+        int newSize = callback.getNewListSize();
+        // 1. 建立新数据标识到位置的映射
+        Map<Object, Integer> newPositions = new HashMap<>(newSize * 4 / 3 + 1);
+        for (int j = 0; j < newSize; j++) {
+            if (newPositions.put(callback.getNewItemKey(j), j) != null) {
+                return null;
+            }
+        }
+        // 2. 匹配旧数据, oldToNew[i] 为旧条目在新数据中的位置, newToOld[j] 为新条目在旧数据中的位置
+        int[] oldToNew = new int[oldSize];
+        int[] newToOld = new int[newSize];
+        Arrays.fill(newToOld, NOT_FOUND);
+        int survivorCount = 0;
+        for (int i = 0; i < oldSize; i++) {
+            Integer newPosition = newPositions.get(callback.getOldItemKey(i));
+            if (newPosition == null) {
+                oldToNew[i] = NOT_FOUND;
+            } else if (newToOld[newPosition] != NOT_FOUND) {
+                // 旧数据中存在重复的标识
+                return null;
+            } else {
+                oldToNew[i] = newPosition;
+                newToOld[newPosition] = i;
+                survivorCount++;
+            }
+        }
+        // 3. 保留的条目中, 新位置的最长递增子序列保持不动
+        boolean[] anchored = longestIncreasingSubsequence(oldToNew, survivorCount);
+        UpdateOpBatcher batcher = new UpdateOpBatcher();
+        // 4. 从后向前删除, 保证删除位置不受之前删除的影响
+        for (int i = oldSize - 1; i >= 0; i--) {
+            if (oldToNew[i] == NOT_FOUND) {
+                batcher.onRemoved(i, 1);
+            }
+        }
+        // 5. 从前向后插入与移动
+        dispatchInsertsAndMoves(oldToNew, newToOld, anchored, batcher);
+        // 6. 此时所有条目均已在最终位置, 分发内容变化
+        for (int j = 0; j < newSize; j++) {
+            int i = newToOld[j];
+            if (i != NOT_FOUND && !callback.areContentsTheSame(i, j)) {
+                batcher.onChanged(j, 1, null);
+            }
+        }
+        return batcher;
+    }
+
+    /**
+     * 计算保留的条目在新位置上的最长递增子序列
+     *
+     * @return anchored[i] 表示旧位置 i 的条目是否保持不动
+     */
+    private static boolean[] longestIncreasingSubsequence(int[] oldToNew, int survivorCount) {
+        int oldSize = oldToNew.length;
+        // tails[k] 为长度 k + 1 的递增子序列末尾条目的旧位置
+        int[] tails = new int[survivorCount];
+        int[] predecessors = new int[oldSize];
+        int length = 0;
+        for (int i = 0; i < oldSize; i++) {
+            int newPosition = oldToNew[i];
+            if (newPosition == NOT_FOUND) continue;
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (oldToNew[tails[middle]] < newPosition) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            predecessors[i] = low > 0 ? tails[low - 1] : NOT_FOUND;
+            tails[low] = i;
+            if (low == length) {
+                length++;
+            }
+        }
+        boolean[] anchored = new boolean[oldSize];
+        for (int i = length > 0 ? tails[length - 1] : NOT_FOUND; i != NOT_FOUND; i = predecessors[i]) {
+            anchored[i] = true;
+        }
+        return anchored;
+    }
+
+    /**
+     * 分发插入与移动
+     * <p>
+     * 不动的条目将列表分为若干区间, 按照新数据的顺序把插入/移动的条目放在前一个条目之后,
+     * 因此每个区间内的顺序始终为: [不动的条目][已放置的条目(新数据顺序)][尚未移动的条目(旧数据顺序)]
+     * 据此为每个条目的新旧状态分配全局有序的槽位, 通过树状数组统计槽位之前的条目数量得到当前位置
+     */
+    private static void dispatchInsertsAndMoves(int[] oldToNew, int[] newToOld, boolean[] anchored,
+                                                UpdateOpBatcher batcher) {
+        int oldSize = oldToNew.length;
+        int newSize = newToOld.length;
+        int[] newSlots = new int[newSize];
+        int[] oldSlots = new int[oldSize];
+        // 1. 分配槽位, 依次遍历每个区间
+        int slot = 0;
+        int i = 0;
+        int j = 0;
+        while (i < oldSize || j < newSize) {
+            // 当前区间内放置的条目
+            while (j < newSize && !(newToOld[j] != NOT_FOUND && anchored[newToOld[j]])) {
+                newSlots[j++] = slot++;
+            }
+            // 当前区间内尚未移动的条目
+            while (i < oldSize && !anchored[i]) {
+                oldSlots[i++] = slot++;
+            }
+            // 区间末尾不动的条目, 新旧状态共用一个槽位
+            if (i < oldSize) {
+                oldSlots[i] = slot;
+                newSlots[oldToNew[i]] = slot++;
+                i++;
+                j++;
+            }
+        }
+        // 2. 初始状态: 不动的条目与保留的条目位于旧槽位
+        FenwickTree present = new FenwickTree(slot);
+        for (i = 0; i < oldSize; i++) {
+            if (oldToNew[i] != NOT_FOUND) {
+                present.add(oldSlots[i], 1);
+            }
+        }
+        // 3. 按照新数据的顺序放置条目
+        for (j = 0; j < newSize; j++) {
+            i = newToOld[j];
+            if (i == NOT_FOUND) {
+                batcher.onInserted(present.prefixSum(newSlots[j]), 1);
+                present.add(newSlots[j], 1);
+            } else if (!anchored[i]) {
+                int fromPosition = present.prefixSum(oldSlots[i]);
+                present.add(oldSlots[i], -1);
+                int toPosition = present.prefixSum(newSlots[j]);
+                present.add(newSlots[j], 1);
+                batcher.onMoved(fromPosition, toPosition);
+            }
+        }
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    /**
+     * 差异计算的数据来源, 可能在后台线程调用
+     */
+    abstract static class Callback {
+
+        abstract int getOldListSize();
+
+        abstract int getNewListSize();
+
+        abstract Object getOldItemKey(int oldItemPosition);
+
+        abstract Object getNewItemKey(int newItemPosition);
+
+        abstract boolean areContentsTheSame(int oldItemPosition, int newItemPosition);
+    }
+
+    /**
+     * 树状数组, 统计槽位之前存在的条目数量
+     */
+    private static class FenwickTree {
+
+        private final int[] mTree;
+
+        FenwickTree(int size) {
+            mTree = new int[size + 1];
+        }
+
+        void add(int index, int delta) {
+            for (int i = index + 1; i < mTree.length; i += i & -i) {
+                mTree[i] += delta;
+            }
+        }
+
+        /**
+         * [0, index) 的和
+         */
+        int prefixSum(int index) {
+            int sum = 0;
+            for (int i = index; i > 0; i -= i & -i) {
+                sum += mTree[i];
+            }
+            return sum;
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.sharry.librecyclerview;
+
+import java.util.Arrays;
+
+/**
+ * 包级可用
+ * 基本类型 long 的哈希集合, 开放寻址 + 线性探测, 避免 HashSet&lt;Long&gt; 的装箱与节点开销
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class LongHashSet {
+
+    // 空槽位的标记, 该值本身是否存在通过 mHasEmptyKey 记录
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] mKeys;
+    private int mSize;
+    private boolean mHasEmptyKey;
+
+    LongHashSet() {
+        mKeys = new long[MIN_CAPACITY];
+        Arrays.fill(mKeys, EMPTY);
+    }
+
+    int size() {
+        return mSize + (mHasEmptyKey ? 1 : 0);
+    }
+
+    boolean contains(long key) {
+        if (key == EMPTY) return mHasEmptyKey;
+        return mKeys[indexOf(key)] == key;
+    }
+
+    /**
+     * @return 集合是否发生了变化
+     */
+    boolean add(long key) {
+        if (key == EMPTY) {
+            boolean changed = !mHasEmptyKey;
+            mHasEmptyKey = true;
+            return changed;
+        }
+        int index = indexOf(key);
+        if (mKeys[index] == key) return false;
+        mKeys[index] = key;
+        // 负载因子超过 0.5 时扩容
+        if (++mSize * 2 > mKeys.length) {
+            rehash(mKeys.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * @return 集合是否发生了变化
+     */
+    boolean remove(long key) {
+        if (key == EMPTY) {
+            boolean changed = mHasEmptyKey;
+            mHasEmptyKey = false;
+            return changed;
+        }
+        int index = indexOf(key);
+        if (mKeys[index] != key) return false;
+        mKeys[index] = EMPTY;
+        mSize--;
+        // 将后续探测链上的元素前移, 保证查找不会提前中断
+        int mask = mKeys.length - 1;
+        int next = (index + 1) & mask;
+        while (mKeys[next] != EMPTY) {
+            long moved = mKeys[next];
+            mKeys[next] = EMPTY;
+            mKeys[indexOf(moved)] = moved;
+            next = (next + 1) & mask;
+        }
+        return true;
+    }
+
+    void clear() {
+        if (mKeys.length > MIN_CAPACITY) {
+            mKeys = new long[MIN_CAPACITY];
+        }
+        Arrays.fill(mKeys, EMPTY);
+        mSize = 0;
+        mHasEmptyKey = false;
+    }
+
+    long[] toArray() {
+        long[] result = new long[size()];
+        int count = 0;
+        for (long key : mKeys) {
+            if (key != EMPTY) {
+                result[count++] = key;
+            }
+        }
+        if (mHasEmptyKey) {
+            result[count] = EMPTY;
+        }
+        return result;
+    }
+
+    /**
+     * 查找 key 所在的槽位, 不存在时返回探测到的空槽位
+     */
+    private int indexOf(long key) {
+        int mask = mKeys.length - 1;
+        int index = hash(key) & mask;
+        while (mKeys[index] != EMPTY && mKeys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = mKeys;
+        mKeys = new long[capacity];
+        Arrays.fill(mKeys, EMPTY);
+        for (long key : oldKeys) {
+            if (key != EMPTY) {
+                mKeys[indexOf(key)] = key;
+            }
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,180 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.widget.RecyclerView;
+import android.util.LruCache;
+import android.util.SparseBooleanArray;
+import android.view.View;
+
+/**
+ * 包级可用
+ * 按 条目标识 + 宽度 记录已经完成测量的条目, 通过 {@link SRecyclerAdapter#setMeasureCacheEnabled} 开启
+ * <p>
+ * 1. 同一个 ViewHolder 在原位置重新绑定同一条目且内容哈希不变时跳过 convert, View 不会 requestLayout,
+ * RecyclerView 的测量缓存因此生效, 不会再次测量该条目. 从缓存池取出的 ViewHolder 总是完整绑定
+ * 2. 条目测量出新的高度时回调其 viewType 与高度, 滚动条据此更新该类型的平均高度; 不保存每个条目的高度
+ * 3. 作为 Adapter 自身的观察者, 不携带 payload 的区间更新会使对应条目的记录失效, 强制重新绑定,
+ * 只读取已在内存中的数据, 不会触发按需加载的数据源加载
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class MeasuredHeightCache<T> extends RecyclerView.AdapterDataObserver {
+
+    private static final int MAX_CACHE_SIZE = 1024;
+
+    private final SRecyclerAdapter<T> mAdapter;
+    private final LruCache<MeasureKey, Entry> mEntries = new LruCache<>(MAX_CACHE_SIZE);
+    // 出现过的条目宽度, 通常只有一到两种(如横竖屏), 用于按条目标识使缓存失效
+    private final SparseBooleanArray mWidths = new SparseBooleanArray();
+    private OnItemMeasuredListener mListener;
+
+    MeasuredHeightCache(SRecyclerAdapter<T> adapter) {
+        mAdapter = adapter;
+    }
+
+    void setOnItemMeasuredListener(OnItemMeasuredListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * 绑定前调用, 判断 holder 是否已经展示了该条目的当前内容
+     *
+     * @return true 表示可以跳过绑定
+     */
+    boolean onBind(SViewHolder holder, T data, Object itemKey, int contentHash, int position) {
+        Entry last = holder.getMeasureEntry();
+        boolean unchanged = last != null && itemKey != null
+                // 只有在原位置重新绑定时才可能跳过, 回收到缓存池时已清除 holder 的测量结果
+                && holder.getMeasurePosition() == position
+                // 以数据本身作为标识时, 同一个对象可能被原地修改或被复用(如 ColumnarDataSet 的行游标), 无法判断内容是否变化
+                && !(itemKey == data && last.itemKey == data)
+                && last.contentHash == contentHash
+                && last.itemKey.equals(itemKey)
+                && mEntries.get(new MeasureKey(itemKey, holder.itemView.getWidth())) == last;
+        if (unchanged) return true;
+        holder.setMeasureEntry(itemKey == null ? null : new Entry(itemKey, contentHash));
+        holder.setMeasurePosition(position);
+        trackLayout(holder);
+        return false;
+    }
+
+    /**
+     * 使条目的缓存失效, 下次绑定时执行完整的 convert
+     */
+    void invalidate(Object itemKey) {
+        if (itemKey == null) return;
+        for (int i = 0; i < mWidths.size(); i++) {
+            mEntries.remove(new MeasureKey(itemKey, mWidths.keyAt(i)));
+        }
+    }
+
+    void clear() {
+        mEntries.evictAll();
+        mWidths.clear();
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        int end = Math.min(positionStart + itemCount, mAdapter.getItemCount());
+        for (int position = positionStart; position < end; position++) {
+            // 尚未加载的数据没有对应的记录, 内容变化时内容哈希同样会使其重新绑定
+            T data = mAdapter.peekItem(position);
+            if (data != null) {
+                invalidate(mAdapter.getItemKey(data));
+            }
+        }
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+        // 局部刷新只更新部分 View, 由 payload 对应的 convert 处理, 不影响缓存
+        if (payload == null) {
+            onItemRangeChanged(positionStart, itemCount);
+        }
+    }
+
+    /**
+     * 布局完成后记录条目的测量宽度, 高度变化时回调
+     */
+    private void trackLayout(final SViewHolder holder) {
+        if (holder.isMeasureTracked()) return;
+        holder.setMeasureTracked(true);
+        holder.itemView.addOnLayoutChangeListener(new View.OnLayoutChangeListener() {
+            @Override
+            public void onLayoutChange(View v, int left, int top, int right, int bottom,
+                                       int oldLeft, int oldTop, int oldRight, int oldBottom) {
+                Entry entry = holder.getMeasureEntry();
+                int width = right - left;
+                int height = bottom - top;
+                if (entry == null || width <= 0 || (entry.width == width && entry.height == height)) return;
+                if (entry.width > 0 && entry.width != width) {
+                    // 宽度变化后是另一份测量结果, 保留原宽度下的记录
+                    entry = new Entry(entry.itemKey, entry.contentHash);
+                    holder.setMeasureEntry(entry);
+                }
+                entry.width = width;
+                entry.height = height;
+                mEntries.put(new MeasureKey(entry.itemKey, width), entry);
+                mWidths.put(width, true);
+                if (mListener != null) {
+                    mListener.onItemMeasured(holder.getViewType(), height);
+                }
+            }
+        });
+    }
+
+    /**
+     * 条目的测量结果
+     */
+    static final class Entry {
+
+        final Object itemKey;
+        final int contentHash;
+        // 测量时的宽度, 宽度变化后为另一份记录
+        int width = -1;
+        // 上一次回调的高度, 用于避免重复回调
+        int height = -1;
+
+        Entry(Object itemKey, int contentHash) {
+            this.itemKey = itemKey;
+            this.contentHash = contentHash;
+        }
+    }
+
+    /**
+     * 缓存的 Key: 条目标识 + 宽度
+     */
+    private static final class MeasureKey {
+
+        final Object itemKey;
+        final int width;
+
+        MeasureKey(Object itemKey, int width) {
+            this.itemKey = itemKey;
+            this.width = width;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof MeasureKey)) return false;
+            MeasureKey other = (MeasureKey) o;
+            return width == other.width && itemKey.equals(other.itemKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return itemKey.hashCode() * 31 + width;
+        }
+    }
+
+    /**
+     * 条目测量出新的高度时回调
+     */
+    interface OnItemMeasuredListener {
+
+        void onItemMeasured(int viewType, int height);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.sharry.librecyclerview;
+
+import android.os.Parcelable;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.util.LruCache;
+import android.util.Pair;
+
+/**
+ * 包级可用
+ * 条目中嵌套的横向列表的公共配置, 由 {@link SViewHolder#setNestedAdapter} 使用
+ * <p>
+ * 1. 所有内部列表共用同一个 RecycledViewPool, 滑出屏幕的内部条目可以被其他行直接复用, 无需重新 inflate
+ * 2. 为内部的 LinearLayoutManager 设置初始预取数量, 外部列表的 GapWorker 预取某一行时会同时绑定其内部条目
+ * 3. 按 条目标识 + viewId 缓存内部列表的滚动状态, 行脱离窗口或重新绑定前保存, 再次绑定同一条目时恢复
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class NestedListSupport {
+
+    private static final int MAX_STATE_CACHE_SIZE = 64;
+
+    private RecyclerView.RecycledViewPool mViewPool;
+    private final LruCache<Pair<Object, Integer>, Parcelable> mStates = new LruCache<>(MAX_STATE_CACHE_SIZE);
+    // 内部列表的初始预取数量, 小于等于 0 时使用 LayoutManager 的默认值
+    private int mInitialPrefetchItemCount;
+
+    RecyclerView.RecycledViewPool getViewPool() {
+        if (mViewPool == null) {
+            mViewPool = new RecyclerView.RecycledViewPool();
+        }
+        return mViewPool;
+    }
+
+    void setViewPool(RecyclerView.RecycledViewPool viewPool) {
+        mViewPool = viewPool;
+    }
+
+    void setInitialPrefetchItemCount(int itemCount) {
+        mInitialPrefetchItemCount = itemCount;
+    }
+
+    /**
+     * 首次使用内部列表时的配置
+     */
+    void setup(RecyclerView nested) {
+        RecyclerView.LayoutManager layoutManager = nested.getLayoutManager();
+        if (layoutManager == null) {
+            layoutManager = new LinearLayoutManager(nested.getContext(), LinearLayoutManager.HORIZONTAL, false);
+            nested.setLayoutManager(layoutManager);
+        }
+        if (layoutManager instanceof LinearLayoutManager) {
+            LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+            // 内部列表被回收时将其子 View 放回共享的缓存池
+            linearLayoutManager.setRecycleChildrenOnDetach(true);
+            if (mInitialPrefetchItemCount > 0) {
+                linearLayoutManager.setInitialPrefetchItemCount(mInitialPrefetchItemCount);
+            }
+        }
+        nested.setRecycledViewPool(getViewPool());
+    }
+
+    /**
+     * 保存内部列表的滚动状态
+     */
+    void saveState(Object itemKey, int viewId, RecyclerView nested) {
+        RecyclerView.LayoutManager layoutManager = nested.getLayoutManager();
+        // 脱离窗口后子 View 已被回收, 此时的状态不包含滚动位置, 保留之前记录的状态
+        if (itemKey == null || layoutManager == null || layoutManager.getChildCount() == 0) return;
+        nested.stopScroll();
+        Parcelable state = layoutManager.onSaveInstanceState();
+        if (state != null) {
+            mStates.put(Pair.create(itemKey, viewId), state);
+        }
+    }
+
+    /**
+     * 恢复内部列表的滚动状态, 没有缓存时滚动到起始位置
+     */
+    void restoreState(Object itemKey, int viewId, RecyclerView nested) {
+        RecyclerView.LayoutManager layoutManager = nested.getLayoutManager();
+        if (layoutManager == null) return;
+        Parcelable state = itemKey == null ? null : mStates.get(Pair.create(itemKey, viewId));
+        if (state != null) {
+            layoutManager.onRestoreInstanceState(state);
+        } else {
+            nested.scrollToPosition(0);
+        }
+    }
+
+}
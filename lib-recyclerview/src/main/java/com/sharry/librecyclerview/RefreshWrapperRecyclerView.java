@@ -5,6 +5,7 @@ import android.animation.ValueAnimator;
 import android.content.Context;
 import android.support.annotation.Nullable;
 import android.support.v4.view.ViewCompat;
+import android.support.v7.widget.helper.ItemTouchHelper;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
@@ -36,6 +37,8 @@ class RefreshWrapperRecyclerView extends WrapRecyclerView {
     private boolean mCurrentDrag = false; // 当前是否正在拖动
     // 处理刷新回调监听
     private OnRefreshListener mListener;
+    // 长按拖动与侧滑删除
+    private ItemTouchHelper mItemTouchHelper;
 
     public RefreshWrapperRecyclerView(Context context) {
         super(context);
@@ -233,7 +236,7 @@ class RefreshWrapperRecyclerView extends WrapRecyclerView {
      * scroll up. Override this if the child view is a custom view.
      * 判断是不是滚动到了最顶部，这个是从SwipeRefreshLayout里面copy过来的源代码
      */
-    private boolean canScrollUp() {
+    boolean canScrollUp() {
         if (android.os.Build.VERSION.SDK_INT < 14) {
             return ViewCompat.canScrollVertically(this, -1) || this.getScrollY() > 0;
         } else {
@@ -245,8 +248,27 @@ class RefreshWrapperRecyclerView extends WrapRecyclerView {
         this.mListener = listener;
     }
 
+    /**
+     * 开启默认的长按拖动
+     */
     public void setItemTouchHelperCallback() {
+        setItemTouchHelperCallback(new SItemTouchCallback());
+    }
 
+    /**
+     * 设置长按拖动与侧滑删除
+     *
+     * @param callback 为 null 时关闭
+     */
+    public void setItemTouchHelperCallback(SItemTouchCallback callback) {
+        if (mItemTouchHelper != null) {
+            mItemTouchHelper.attachToRecyclerView(null);
+            mItemTouchHelper = null;
+        }
+        if (callback == null) return;
+        callback.attach(this);
+        mItemTouchHelper = new ItemTouchHelper(callback);
+        mItemTouchHelper.attachToRecyclerView(this);
     }
 
     public interface OnRefreshListener {
@@ -0,0 +1,466 @@
+package com.sharry.librecyclerview;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.util.DisplayMetrics;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.SectionIndexer;
+
+/**
+ * SRecyclerView 的快速滚动条, 通过 {@link SRecyclerView#setFastScroller} 设置
+ * <p>
+ * 1. 滑块位置根据按 viewType 预估的条目高度计算, 可变高度的列表也能准确定位;
+ * 使用 {@link FixedExtentLayoutManager} 时直接使用其精确的偏移量
+ * 2. 原始 Adapter 实现了 {@link SectionIndexer} 时, 拖动期间在滑块旁显示当前分组
+ * 3. 拖动时直接跳转到目标位置, 不会绑定中间经过的条目;
+ * 拖动期间 {@link SRecyclerAdapter} 使用轻量绑定 {@link SRecyclerAdapter#convertPreview} 并暂停加载图片
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class SFastScroller extends RecyclerView.ItemDecoration implements RecyclerView.OnItemTouchListener {
+
+    // 内容高度至少为可见高度的多少倍时才显示
+    private static final int MIN_PAGES = 4;
+    // 停止滚动后多久隐藏(ms)
+    private static final long HIDE_DELAY = 1500;
+
+    private final int mThumbWidth;
+    private final int mThumbMinHeight;
+    private final int mTouchWidth;
+    private final int mBubbleSize;
+    private int mThumbColor = 0x99000000;
+    private int mTrackColor = 0x00000000;
+    private int mBubbleColor = 0xCC000000;
+    private final Paint mPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint mTextPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF mRect = new RectF();
+    private final ItemHeightEstimator mEstimator = new ItemHeightEstimator();
+
+    private WrapRecyclerView mRecyclerView;
+    // 注册了数据观察者的 Adapter
+    private RecyclerView.Adapter mObservedAdapter;
+    private boolean mVisible;
+    private boolean mDragging;
+    // 拖动时滑块的位置比例, 跟随手指而不是实际的滚动位置, 避免抖动
+    private float mDragFraction;
+    private OnDragStateChangedListener mDragListener;
+
+    private final Runnable mHideRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mDragging) return;
+            mVisible = false;
+            if (mRecyclerView != null) {
+                mRecyclerView.invalidate();
+            }
+        }
+    };
+
+    // 在绘制之外重建高度预估的索引
+    private final Runnable mRebuildRunnable = new Runnable() {
+        @Override
+        public void run() {
+            if (mRecyclerView == null || !mEstimator.isDirty()) return;
+            mEstimator.rebuild(mObservedAdapter);
+            if (mVisible || mDragging) {
+                mRecyclerView.invalidate();
+            }
+        }
+    };
+
+    private final RecyclerView.OnScrollListener mScrollListener = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            if (dy == 0 || mDragging) return;
+            show();
+        }
+
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                // 停止滚动时记录可见条目的高度, 修正预估值
+                mEstimator.sample(recyclerView);
+            }
+        }
+    };
+
+    // 开启了测量缓存时, 每个条目首次测量的高度都计入预估值, 而不只是当前可见的条目
+    private final MeasuredHeightCache.OnItemMeasuredListener mMeasuredListener =
+            new MeasuredHeightCache.OnItemMeasuredListener() {
+                @Override
+                public void onItemMeasured(int viewType, int height) {
+                    mEstimator.addSample(viewType, height);
+                }
+            };
+
+    private final RecyclerView.AdapterDataObserver mDataObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            invalidateEstimator();
+        }
+
+        @Override
+        public void onItemRangeChanged(int positionStart, int itemCount) {
+            // viewType 不变的区间更新(如按需加载的数据加载完成)不影响预估值
+            mEstimator.onItemRangeChanged(mObservedAdapter, positionStart, itemCount);
+            if (mEstimator.isDirty()) {
+                scheduleRebuild();
+            }
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            invalidateEstimator();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            invalidateEstimator();
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            invalidateEstimator();
+        }
+    };
+
+    public SFastScroller(Context context) {
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        mThumbWidth = (int) (6 * metrics.density + 0.5f);
+        mThumbMinHeight = (int) (48 * metrics.density + 0.5f);
+        mTouchWidth = (int) (32 * metrics.density + 0.5f);
+        mBubbleSize = (int) (56 * metrics.density + 0.5f);
+        mTextPaint.setColor(0xFFFFFFFF);
+        mTextPaint.setTextSize(24 * metrics.scaledDensity);
+        mTextPaint.setTextAlign(Paint.Align.CENTER);
+        mEstimator.setDefaultHeight(mThumbMinHeight);
+    }
+
+    public SFastScroller setThumbColor(int thumbColor) {
+        mThumbColor = thumbColor;
+        return this;
+    }
+
+    public SFastScroller setTrackColor(int trackColor) {
+        mTrackColor = trackColor;
+        return this;
+    }
+
+    /**
+     * 分组提示的背景颜色
+     */
+    public SFastScroller setBubbleColor(int bubbleColor) {
+        mBubbleColor = bubbleColor;
+        return this;
+    }
+
+    /**
+     * 分组提示的文字颜色
+     */
+    public SFastScroller setBubbleTextColor(int textColor) {
+        mTextPaint.setColor(textColor);
+        return this;
+    }
+
+    public SFastScroller setOnDragStateChangedListener(OnDragStateChangedListener listener) {
+        mDragListener = listener;
+        return this;
+    }
+
+    /**
+     * 绑定 RecyclerView
+     *
+     * @param recyclerView 为 null 时解绑
+     */
+    void attachToRecyclerView(WrapRecyclerView recyclerView) {
+        if (mRecyclerView == recyclerView) return;
+        if (mRecyclerView != null) {
+            mRecyclerView.removeItemDecoration(this);
+            mRecyclerView.removeOnItemTouchListener(this);
+            mRecyclerView.removeOnScrollListener(mScrollListener);
+            mRecyclerView.removeCallbacks(mHideRunnable);
+            mRecyclerView.removeCallbacks(mRebuildRunnable);
+            setDragging(false);
+            observeAdapter(null);
+        }
+        mRecyclerView = recyclerView;
+        if (mRecyclerView != null) {
+            mRecyclerView.addItemDecoration(this);
+            mRecyclerView.addOnItemTouchListener(this);
+            mRecyclerView.addOnScrollListener(mScrollListener);
+        }
+    }
+
+    @Override
+    public void onDrawOver(Canvas c, RecyclerView parent, RecyclerView.State state) {
+        if ((!mVisible && !mDragging) || !isScrollable()) return;
+        float trackTop = parent.getPaddingTop();
+        float trackBottom = parent.getHeight() - parent.getPaddingBottom();
+        float right = parent.getWidth() - parent.getPaddingRight();
+        float left = right - mThumbWidth;
+        // 轨道
+        if (mTrackColor != 0) {
+            mPaint.setColor(mTrackColor);
+            mRect.set(left, trackTop, right, trackBottom);
+            c.drawRoundRect(mRect, mThumbWidth / 2f, mThumbWidth / 2f, mPaint);
+        }
+        // 滑块
+        float thumbHeight = getThumbHeight();
+        float thumbTop = trackTop + (trackBottom - trackTop - thumbHeight) * getScrollFraction();
+        mPaint.setColor(mThumbColor);
+        mRect.set(left, thumbTop, right, thumbTop + thumbHeight);
+        c.drawRoundRect(mRect, mThumbWidth / 2f, mThumbWidth / 2f, mPaint);
+        // 拖动时显示分组
+        String section = mDragging ? getSectionText() : null;
+        if (section != null) {
+            float centerX = left - mTouchWidth - mBubbleSize / 2f;
+            float centerY = Math.max(trackTop + mBubbleSize / 2f, thumbTop + thumbHeight / 2f);
+            mPaint.setColor(mBubbleColor);
+            c.drawCircle(centerX, centerY, mBubbleSize / 2f, mPaint);
+            float baseline = centerY - (mTextPaint.descent() + mTextPaint.ascent()) / 2;
+            c.drawText(section, centerX, baseline, mTextPaint);
+        }
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(RecyclerView rv, MotionEvent e) {
+        if (e.getActionMasked() == MotionEvent.ACTION_DOWN && mVisible && isScrollable() && isInTouchArea(e)) {
+            setDragging(true);
+            rv.stopScroll();
+            if (rv.getParent() != null) {
+                rv.getParent().requestDisallowInterceptTouchEvent(true);
+            }
+            scrollToTouch(e.getY());
+            return true;
+        }
+        return mDragging;
+    }
+
+    @Override
+    public void onTouchEvent(RecyclerView rv, MotionEvent e) {
+        if (!mDragging) return;
+        switch (e.getActionMasked()) {
+            case MotionEvent.ACTION_MOVE:
+                scrollToTouch(e.getY());
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                setDragging(false);
+                scheduleHide();
+                rv.invalidate();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+    }
+
+    private void show() {
+        mVisible = true;
+        scheduleHide();
+        mRecyclerView.invalidate();
+    }
+
+    private void scheduleHide() {
+        mRecyclerView.removeCallbacks(mHideRunnable);
+        mRecyclerView.postDelayed(mHideRunnable, HIDE_DELAY);
+    }
+
+    private void setDragging(boolean dragging) {
+        if (mDragging == dragging) return;
+        mDragging = dragging;
+        // 拖动期间使用轻量绑定
+        RecyclerView.Adapter adapter = getPrimitiveAdapter();
+        if (adapter instanceof SRecyclerAdapter) {
+            ((SRecyclerAdapter) adapter).setPreviewBinding(dragging);
+        }
+        if (mDragListener != null) {
+            mDragListener.onDragStateChanged(dragging);
+        }
+    }
+
+    private boolean isInTouchArea(MotionEvent e) {
+        int right = mRecyclerView.getWidth() - mRecyclerView.getPaddingRight();
+        return e.getX() >= right - mTouchWidth && e.getY() >= mRecyclerView.getPaddingTop()
+                && e.getY() <= mRecyclerView.getHeight() - mRecyclerView.getPaddingBottom();
+    }
+
+    /**
+     * 滚动到手指所在比例的位置, 直接跳转而不是逐帧滚动
+     */
+    private void scrollToTouch(float y) {
+        float trackTop = mRecyclerView.getPaddingTop();
+        float trackLength = mRecyclerView.getHeight() - mRecyclerView.getPaddingBottom() - trackTop;
+        float thumbHeight = getThumbHeight();
+        float fraction = (y - trackTop - thumbHeight / 2) / Math.max(1, trackLength - thumbHeight);
+        mDragFraction = Math.max(0, Math.min(1, fraction));
+        RecyclerView.LayoutManager layoutManager = mRecyclerView.getLayoutManager();
+        int target = (int) (mDragFraction * Math.max(0, getScrollRange() - getScrollExtent()));
+        int position;
+        int offset;
+        if (layoutManager instanceof FixedExtentLayoutManager) {
+            FixedExtentLayoutManager fixed = (FixedExtentLayoutManager) layoutManager;
+            position = fixed.getPositionAtOffset(target);
+            offset = fixed.getOffsetOfPosition(position) - target;
+        } else {
+            getObservedAdapter();
+            position = mEstimator.getPosition(target);
+            offset = mEstimator.getOffset(position) - target;
+        }
+        if (position == RecyclerView.NO_POSITION) return;
+        if (layoutManager instanceof FixedExtentLayoutManager) {
+            ((FixedExtentLayoutManager) layoutManager).scrollToPositionWithOffset(position, offset);
+        } else if (layoutManager instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) layoutManager).scrollToPositionWithOffset(position, offset);
+        } else {
+            mRecyclerView.scrollToPosition(position);
+        }
+        mRecyclerView.invalidate();
+    }
+
+    private float getThumbHeight() {
+        float trackLength = mRecyclerView.getHeight() - mRecyclerView.getPaddingTop() - mRecyclerView.getPaddingBottom();
+        int range = getScrollRange();
+        float height = range <= 0 ? trackLength : trackLength * getScrollExtent() / range;
+        return Math.min(trackLength, Math.max(mThumbMinHeight, height));
+    }
+
+    /**
+     * 当前滚动位置的比例
+     */
+    private float getScrollFraction() {
+        if (mDragging) return mDragFraction;
+        int scrollable = getScrollRange() - getScrollExtent();
+        if (scrollable <= 0) return 0;
+        return Math.max(0, Math.min(1, (float) getScrollOffset() / scrollable));
+    }
+
+    private boolean isScrollable() {
+        int extent = getScrollExtent();
+        return extent > 0 && getScrollRange() >= extent * MIN_PAGES;
+    }
+
+    private int getScrollExtent() {
+        return mRecyclerView.getHeight() - mRecyclerView.getPaddingTop() - mRecyclerView.getPaddingBottom();
+    }
+
+    private int getScrollRange() {
+        if (mRecyclerView.getLayoutManager() instanceof FixedExtentLayoutManager) {
+            return mRecyclerView.computeVerticalScrollRange();
+        }
+        getObservedAdapter();
+        return mEstimator.getTotalHeight();
+    }
+
+    private int getScrollOffset() {
+        if (mRecyclerView.getLayoutManager() instanceof FixedExtentLayoutManager) {
+            return mRecyclerView.computeVerticalScrollOffset();
+        }
+        if (mRecyclerView.getChildCount() == 0) return 0;
+        View first = mRecyclerView.getChildAt(0);
+        int position = mRecyclerView.getChildLayoutPosition(first);
+        for (int i = 1; i < mRecyclerView.getChildCount(); i++) {
+            View child = mRecyclerView.getChildAt(i);
+            int childPosition = mRecyclerView.getChildLayoutPosition(child);
+            if (childPosition != RecyclerView.NO_POSITION && childPosition < position) {
+                first = child;
+                position = childPosition;
+            }
+        }
+        if (position == RecyclerView.NO_POSITION) return 0;
+        RecyclerView.LayoutManager layoutManager = mRecyclerView.getLayoutManager();
+        int top = layoutManager.getDecoratedTop(first) - mRecyclerView.getPaddingTop();
+        return mEstimator.getOffset(position) - top;
+    }
+
+    /**
+     * 当前位置的分组
+     */
+    private String getSectionText() {
+        RecyclerView.Adapter adapter = getPrimitiveAdapter();
+        if (!(adapter instanceof SectionIndexer) || adapter.getItemCount() == 0) return null;
+        SectionIndexer indexer = (SectionIndexer) adapter;
+        Object[] sections = indexer.getSections();
+        WrapRecyclerAdapter wrapAdapter = mRecyclerView.getWrapAdapter();
+        int position = Math.round(mDragFraction * (adapter.getItemCount() - 1));
+        if (mRecyclerView.getChildCount() > 0) {
+            int first = mRecyclerView.getChildLayoutPosition(mRecyclerView.getChildAt(0));
+            if (first != RecyclerView.NO_POSITION) {
+                position = first - wrapAdapter.getHeaderCount();
+            }
+        }
+        position = Math.max(0, Math.min(position, adapter.getItemCount() - 1));
+        int section = indexer.getSectionForPosition(position);
+        if (sections == null || section < 0 || section >= sections.length) return null;
+        return String.valueOf(sections[section]);
+    }
+
+    private RecyclerView.Adapter getPrimitiveAdapter() {
+        WrapRecyclerAdapter wrapAdapter = mRecyclerView == null ? null : mRecyclerView.getWrapAdapter();
+        return wrapAdapter == null ? null : wrapAdapter.getPrimitiveAdapter();
+    }
+
+    private void invalidateEstimator() {
+        mEstimator.invalidate();
+        scheduleRebuild();
+    }
+
+    private void scheduleRebuild() {
+        if (mRecyclerView == null) return;
+        mRecyclerView.removeCallbacks(mRebuildRunnable);
+        mRecyclerView.post(mRebuildRunnable);
+    }
+
+    /**
+     * 获取用于预估高度的 Adapter, 并监听其数据变化
+     */
+    private RecyclerView.Adapter getObservedAdapter() {
+        observeAdapter(mRecyclerView.getWrapAdapter());
+        return mObservedAdapter;
+    }
+
+    /**
+     * 监听 Adapter 的数据变化, 包装后的 Adapter 只被 RecyclerView 持有, 不会导致泄漏
+     */
+    private void observeAdapter(RecyclerView.Adapter adapter) {
+        if (mObservedAdapter == adapter) return;
+        if (mObservedAdapter != null) {
+            mObservedAdapter.unregisterAdapterDataObserver(mDataObserver);
+            setMeasuredListener(mObservedAdapter, null);
+        }
+        mObservedAdapter = adapter;
+        if (mObservedAdapter != null) {
+            mObservedAdapter.registerAdapterDataObserver(mDataObserver);
+            setMeasuredListener(mObservedAdapter, mMeasuredListener);
+        }
+        invalidateEstimator();
+    }
+
+    private static void setMeasuredListener(RecyclerView.Adapter adapter,
+                                            MeasuredHeightCache.OnItemMeasuredListener listener) {
+        if (adapter instanceof WrapRecyclerAdapter
+                && ((WrapRecyclerAdapter) adapter).getPrimitiveAdapter() instanceof SRecyclerAdapter) {
+            ((SRecyclerAdapter) ((WrapRecyclerAdapter) adapter).getPrimitiveAdapter())
+                    .setOnItemMeasuredListener(listener);
+        }
+    }
+
+    /**
+     * 拖动状态的回调, 可以在拖动期间暂停图片加载框架的请求
+     */
+    public interface OnDragStateChangedListener {
+
+        void onDragStateChanged(boolean dragging);
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.widget.GridLayoutManager;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.support.v7.widget.helper.ItemTouchHelper;
+
+/**
+ * SRecyclerView 的长按拖动与侧滑删除, 通过 {@link SRecyclerView#setItemTouchHelperCallback} 设置
+ * <p>
+ * 1. 所有位置均为原始 Adapter 中的位置, 已去除 Header 的偏移
+ * 2. Header/Footer(包括下拉刷新与上拉加载的 View)不可拖动与侧滑, 条目也无法被拖动到它们的位置
+ * 3. 拖动过程中每次交换都通过 {@link SRecyclerAdapter#move} 分发一次移动通知,
+ * 拖动结束后通过 {@link OnItemReorderListener} 回调一次最终的起止位置
+ * 4. 侧滑时通过 {@link SRecyclerAdapter#remove} 移除数据
+ * 5. 通过 {@link ItemProvider} 构建的 Adapter 数据只读, 其条目不可拖动与侧滑, 数据的变更需要通过 provider 完成
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class SItemTouchCallback extends ItemTouchHelper.Callback {
+
+    private boolean mDragEnabled = true;
+    private boolean mSwipeEnabled = false;
+    private OnItemReorderListener mReorderListener;
+    private OnItemDismissListener mDismissListener;
+    private WrapRecyclerView mRecyclerView;
+    // 本次拖动的起止位置
+    private int mDragFromPosition = RecyclerView.NO_POSITION;
+    private int mDragToPosition = RecyclerView.NO_POSITION;
+
+    /**
+     * 是否开启长按拖动, 默认开启
+     */
+    public SItemTouchCallback setDragEnabled(boolean dragEnabled) {
+        mDragEnabled = dragEnabled;
+        return this;
+    }
+
+    /**
+     * 是否开启侧滑删除, 默认关闭
+     */
+    public SItemTouchCallback setSwipeEnabled(boolean swipeEnabled) {
+        mSwipeEnabled = swipeEnabled;
+        return this;
+    }
+
+    public SItemTouchCallback setOnItemReorderListener(OnItemReorderListener listener) {
+        mReorderListener = listener;
+        return this;
+    }
+
+    public SItemTouchCallback setOnItemDismissListener(OnItemDismissListener listener) {
+        mDismissListener = listener;
+        return this;
+    }
+
+    /**
+     * 绑定 RecyclerView, 用于转换位置
+     */
+    void attach(WrapRecyclerView recyclerView) {
+        mRecyclerView = recyclerView;
+    }
+
+    @Override
+    public boolean isLongPressDragEnabled() {
+        return mDragEnabled;
+    }
+
+    @Override
+    public boolean isItemViewSwipeEnabled() {
+        return mSwipeEnabled;
+    }
+
+    @Override
+    public int getMovementFlags(RecyclerView recyclerView, RecyclerView.ViewHolder viewHolder) {
+        if (toDataPosition(viewHolder.getAdapterPosition()) == RecyclerView.NO_POSITION) {
+            return makeMovementFlags(0, 0);
+        }
+        // 数据只读, move/remove 会抛出异常
+        SRecyclerAdapter<?> adapter = getAdapter();
+        if (adapter != null && adapter.isProviderBacked()) {
+            return makeMovementFlags(0, 0);
+        }
+        RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        int dragFlags;
+        int swipeFlags;
+        if (layoutManager instanceof GridLayoutManager) {
+            dragFlags = ItemTouchHelper.UP | ItemTouchHelper.DOWN | ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT;
+            swipeFlags = 0;
+        } else if (layoutManager instanceof LinearLayoutManager
+                && ((LinearLayoutManager) layoutManager).getOrientation() == LinearLayoutManager.HORIZONTAL) {
+            dragFlags = ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT;
+            swipeFlags = ItemTouchHelper.UP | ItemTouchHelper.DOWN;
+        } else {
+            dragFlags = ItemTouchHelper.UP | ItemTouchHelper.DOWN;
+            swipeFlags = ItemTouchHelper.LEFT | ItemTouchHelper.RIGHT;
+        }
+        return makeMovementFlags(mDragEnabled ? dragFlags : 0, mSwipeEnabled ? swipeFlags : 0);
+    }
+
+    @Override
+    public boolean canDropOver(RecyclerView recyclerView, RecyclerView.ViewHolder current,
+                               RecyclerView.ViewHolder target) {
+        return toDataPosition(target.getAdapterPosition()) != RecyclerView.NO_POSITION;
+    }
+
+    @Override
+    public boolean onMove(RecyclerView recyclerView, RecyclerView.ViewHolder viewHolder,
+                          RecyclerView.ViewHolder target) {
+        SRecyclerAdapter<?> adapter = getAdapter();
+        int fromPosition = toDataPosition(viewHolder.getAdapterPosition());
+        int toPosition = toDataPosition(target.getAdapterPosition());
+        if (adapter == null || fromPosition == RecyclerView.NO_POSITION || toPosition == RecyclerView.NO_POSITION) {
+            return false;
+        }
+        if (mDragFromPosition == RecyclerView.NO_POSITION) {
+            mDragFromPosition = fromPosition;
+        }
+        mDragToPosition = toPosition;
+        adapter.move(fromPosition, toPosition);
+        return true;
+    }
+
+    @Override
+    public void onSwiped(RecyclerView.ViewHolder viewHolder, int direction) {
+        SRecyclerAdapter<?> adapter = getAdapter();
+        int position = toDataPosition(viewHolder.getAdapterPosition());
+        if (adapter == null || position == RecyclerView.NO_POSITION) return;
+        Object data = adapter.getDataSet().get(position);
+        adapter.remove(position);
+        if (mDismissListener != null) {
+            mDismissListener.onItemDismissed(position, data);
+        }
+    }
+
+    @Override
+    public void clearView(RecyclerView recyclerView, RecyclerView.ViewHolder viewHolder) {
+        super.clearView(recyclerView, viewHolder);
+        // 拖动结束, 回调最终的起止位置
+        int fromPosition = mDragFromPosition;
+        int toPosition = mDragToPosition;
+        mDragFromPosition = RecyclerView.NO_POSITION;
+        mDragToPosition = RecyclerView.NO_POSITION;
+        if (fromPosition != RecyclerView.NO_POSITION && fromPosition != toPosition && mReorderListener != null) {
+            mReorderListener.onItemReordered(fromPosition, toPosition);
+        }
+    }
+
+    /**
+     * 将 RecyclerView 中的位置转为原始 Adapter 中的位置
+     *
+     * @return Header/Footer 的位置返回 {@link RecyclerView#NO_POSITION}
+     */
+    private int toDataPosition(int adapterPosition) {
+        WrapRecyclerAdapter wrapAdapter = mRecyclerView == null ? null : mRecyclerView.getWrapAdapter();
+        if (wrapAdapter == null || !wrapAdapter.isPrimitivePosition(adapterPosition)) {
+            return RecyclerView.NO_POSITION;
+        }
+        return adapterPosition - wrapAdapter.getHeaderCount();
+    }
+
+    private SRecyclerAdapter<?> getAdapter() {
+        WrapRecyclerAdapter wrapAdapter = mRecyclerView == null ? null : mRecyclerView.getWrapAdapter();
+        if (wrapAdapter != null && wrapAdapter.getPrimitiveAdapter() instanceof SRecyclerAdapter) {
+            return (SRecyclerAdapter<?>) wrapAdapter.getPrimitiveAdapter();
+        }
+        return null;
+    }
+
+    /**
+     * 拖动排序的回调
+     */
+    public interface OnItemReorderListener {
+
+        /**
+         * 一次拖动结束后回调, 数据已经移动完成
+         */
+        void onItemReordered(int fromPosition, int toPosition);
+    }
+
+    /**
+     * 侧滑删除的回调
+     */
+    public interface OnItemDismissListener {
+
+        /**
+         * 数据已经从 Adapter 中移除
+         */
+        void onItemDismissed(int position, Object data);
+    }
+
+}
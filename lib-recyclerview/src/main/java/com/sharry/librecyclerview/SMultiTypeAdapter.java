@@ -0,0 +1,248 @@
+package com.sharry.librecyclerview;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 多类型的 RecyclerViewAdapter, 用于替代在 getLayoutResId/convert 中通过 switch 区分数据类型的写法
+ * <p>
+ * 1. 通过 register 为每一种数据类型注册一个 {@link ItemDelegate}, 由代理负责布局, 创建与绑定
+ * 2. 同一种数据类型需要多种布局时, 通过 {@link Discriminator} 进行区分
+ * 3. 数据类型到代理的查找结果会被缓存, 每次查找为 O(1)
+ * 4. 通过 {@link #prewarm} 按照代理声明的数量预先创建 ViewHolder
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class SMultiTypeAdapter extends SRecyclerAdapter<Object> {
+
+    // 注册的数据类型与代理的绑定关系
+    private final Map<Class<?>, Binding<?>> mBindings = new HashMap<>();
+    // 数据类型查找结果的缓存, 包含父类/接口注册后子类的查找结果
+    private final Map<Class<?>, Binding<?>> mResolvedBindings = new HashMap<>();
+    // viewType 与代理的对应关系
+    private final SparseArray<ItemDelegate<?>> mDelegates = new SparseArray<>();
+    private final LayoutInflater mInflater;
+
+    public SMultiTypeAdapter(Context context, List<Object> dataSet) {
+        super(context, dataSet);
+        mInflater = LayoutInflater.from(context);
+    }
+
+    /**
+     * 为数据类型注册代理
+     */
+    public <T> SMultiTypeAdapter register(Class<T> clazz, ItemDelegate<T> delegate) {
+        if (delegate == null) {
+            throw new NullPointerException("SMultiTypeAdapter.register -> delegate must not be null!");
+        }
+        return registerInternal(clazz, null, Collections.singletonList(delegate));
+    }
+
+    /**
+     * 为数据类型注册多个代理, 由 discriminator 决定使用哪一个
+     */
+    @SafeVarargs
+    public final <T> SMultiTypeAdapter register(Class<T> clazz, Discriminator<T> discriminator,
+                                                ItemDelegate<T>... delegates) {
+        if (delegates == null || delegates.length == 0) {
+            throw new IllegalArgumentException("SMultiTypeAdapter.register -> delegates must not be empty!");
+        }
+        if (delegates.length > 1 && discriminator == null) {
+            throw new NullPointerException("SMultiTypeAdapter.register -> discriminator must not be null!");
+        }
+        // 拷贝一份, 不持有调用方的数组
+        List<ItemDelegate<T>> delegateList = new ArrayList<>(delegates.length);
+        for (ItemDelegate<T> delegate : delegates) {
+            delegateList.add(delegate);
+        }
+        return registerInternal(clazz, discriminator, delegateList);
+    }
+
+    private <T> SMultiTypeAdapter registerInternal(Class<T> clazz, Discriminator<T> discriminator,
+                                                   List<ItemDelegate<T>> delegates) {
+        for (ItemDelegate<T> delegate : delegates) {
+            int viewType = delegate.getLayoutResId();
+            ItemDelegate<?> registered = mDelegates.get(viewType);
+            if (registered != null && registered != delegate) {
+                throw new IllegalArgumentException("SMultiTypeAdapter.register -> layout " + viewType
+                        + " is already registered by " + registered.getClass().getName());
+            }
+            mDelegates.put(viewType, delegate);
+        }
+        mBindings.put(clazz, new Binding<>(discriminator, delegates));
+        mResolvedBindings.clear();
+        return this;
+    }
+
+    /**
+     * 根据代理声明的缓存数量配置 RecycledViewPool, 并在主线程空闲时预先创建 ViewHolder
+     */
+    public void prewarm(final RecyclerView recyclerView) {
+        final RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        final List<Integer> pendingTypes = new ArrayList<>();
+        for (int i = 0; i < mDelegates.size(); i++) {
+            ItemDelegate<?> delegate = mDelegates.valueAt(i);
+            int viewType = mDelegates.keyAt(i);
+            pool.setMaxRecycledViews(viewType, delegate.getMaxRecycledViews());
+            int count = Math.min(delegate.getPreInflateCount(), delegate.getMaxRecycledViews())
+                    - pool.getRecycledViewCount(viewType);
+            for (int j = 0; j < count; j++) {
+                pendingTypes.add(viewType);
+            }
+        }
+        if (pendingTypes.isEmpty()) return;
+        // 每次空闲时创建一个, 避免阻塞主线程
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            @Override
+            public boolean queueIdle() {
+                int viewType = pendingTypes.remove(pendingTypes.size() - 1);
+                pool.putRecycledView(createViewHolder(recyclerView, viewType));
+                return !pendingTypes.isEmpty();
+            }
+        });
+    }
+
+    @NonNull
+    @Override
+    public SViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        ItemDelegate<?> delegate = mDelegates.get(viewType);
+        if (delegate == null) {
+            throw new IllegalStateException("SMultiTypeAdapter.onCreateViewHolder -> no delegate for viewType "
+                    + viewType);
+        }
+        return delegate.onCreateViewHolder(mInflater, parent, this);
+    }
+
+    @Override
+    protected int getLayoutResId(Object data, int position) {
+        return resolveDelegate(data, position).getLayoutResId();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void convert(SViewHolder holder, Object data, int position) {
+        ItemDelegate<Object> delegate = (ItemDelegate<Object>) mDelegates.get(holder.getViewType());
+        delegate.convert(holder, data, position);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void convert(SViewHolder holder, Object data, int position, List<Object> payloads) {
+        ItemDelegate<Object> delegate = (ItemDelegate<Object>) mDelegates.get(holder.getViewType());
+        delegate.convert(holder, data, position, payloads);
+    }
+
+    @Override
+    public void onItemClick(View v, int position) {
+        if (!isValidPosition(position)) return;
+        Object data = getDataSet().get(position);
+        resolveDelegate(data, position).onItemClick(v, data, position);
+    }
+
+    @Override
+    public boolean onItemLongClick(View v, int position) {
+        if (!isValidPosition(position)) return false;
+        Object data = getDataSet().get(position);
+        return resolveDelegate(data, position).onItemLongClick(v, data, position);
+    }
+
+    @Override
+    public void onItemChildClick(View v, int position) {
+        if (!isValidPosition(position)) return;
+        Object data = getDataSet().get(position);
+        resolveDelegate(data, position).onItemChildClick(v, data, position);
+    }
+
+    @Override
+    public boolean onItemChildLongClick(View v, int position) {
+        if (!isValidPosition(position)) return false;
+        Object data = getDataSet().get(position);
+        return resolveDelegate(data, position).onItemChildLongClick(v, data, position);
+    }
+
+    private boolean isValidPosition(int position) {
+        return position >= 0 && position < getItemCount();
+    }
+
+    /**
+     * 获取数据对应的代理
+     */
+    @SuppressWarnings("unchecked")
+    private ItemDelegate<Object> resolveDelegate(Object data, int position) {
+        if (data == null) {
+            throw new NullPointerException("SMultiTypeAdapter -> data at " + position + " is null!");
+        }
+        Binding<Object> binding = (Binding<Object>) resolveBinding(data.getClass());
+        if (binding == null) {
+            throw new IllegalStateException("SMultiTypeAdapter -> no delegate registered for "
+                    + data.getClass().getName());
+        }
+        return binding.select(data, position);
+    }
+
+    /**
+     * 查找数据类型的绑定关系, 未直接注册时向上查找父类与接口, 并缓存查找结果
+     */
+    private Binding<?> resolveBinding(Class<?> clazz) {
+        Binding<?> binding = mResolvedBindings.get(clazz);
+        if (binding != null || mResolvedBindings.containsKey(clazz)) {
+            return binding;
+        }
+        for (Class<?> current = clazz; current != null && binding == null; current = current.getSuperclass()) {
+            binding = mBindings.get(current);
+            if (binding == null) {
+                for (Class<?> anInterface : current.getInterfaces()) {
+                    binding = mBindings.get(anInterface);
+                    if (binding != null) break;
+                }
+            }
+        }
+        mResolvedBindings.put(clazz, binding);
+        return binding;
+    }
+
+    /**
+     * 同一种数据类型注册了多个代理时, 用于选择代理
+     */
+    public interface Discriminator<T> {
+
+        /**
+         * @return 使用的代理在注册时传入的代理数组中的索引
+         */
+        int indexOf(T data, int position);
+    }
+
+    /**
+     * 数据类型与代理的绑定关系
+     */
+    private static class Binding<T> {
+
+        final Discriminator<T> discriminator;
+        final List<ItemDelegate<T>> delegates;
+
+        Binding(Discriminator<T> discriminator, List<ItemDelegate<T>> delegates) {
+            this.discriminator = discriminator;
+            this.delegates = delegates;
+        }
+
+        ItemDelegate<T> select(T data, int position) {
+            return discriminator == null ? delegates.get(0) : delegates.get(discriminator.indexOf(data, position));
+        }
+    }
+
+}
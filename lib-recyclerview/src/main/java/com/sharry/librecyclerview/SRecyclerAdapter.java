@@ -2,12 +2,21 @@ package com.sharry.librecyclerview;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
+import android.support.v7.util.AdapterListUpdateCallback;
+import android.support.v7.util.DiffUtil;
+import android.os.SystemClock;
 import android.support.v7.widget.RecyclerView;
+import android.util.SparseArray;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 通用的 RecyclerViewAdapter
@@ -29,6 +38,44 @@ import java.util.List;
  * step2: 复写 onItemChildClick/onItemChildLongClick
  * @see #onItemChildClick
  * @see #onItemChildLongClick
+ * <p>
+ * 5. 线程安全的数据更新, 在任意线程构建新的数据快照, 由 Adapter 在主线程原子替换并自动计算刷新通知
+ * @see #submitSnapshot
+ * @see #updateSnapshot
+ * <p>
+ * 6. 批量的数据操作, 自动合并相邻的操作并分发区间刷新通知
+ * @see #addAll
+ * @see #removeRange
+ * @see #move
+ * @see #replace
+ * @see #batch
+ * <p>
+ * 7. 缓存每个位置的 viewType, 避免布局时反复执行 getLayoutResId
+ * @see #setViewTypeCacheEnabled
+ * <p>
+ * 8. 通过 {@link ItemProvider} 按需提供数据, 无需持有完整的数据集合
+ * @see #SRecyclerAdapter(Context, ItemProvider)
+ * <p>
+ * 9. 提交快照时的差异计算策略, 默认根据数据量与变化比例自动选择
+ * @see #setDiffStrategy
+ * <p>
+ * 10. 拖动快速滚动条或快速滑动期间使用轻量绑定, 结束后对仍然可见的条目执行完整绑定
+ * @see #convertPreview
+ * @see #setFlingBindingEnabled
+ * @see SFastScroller
+ * <p>
+ * 11. 在后台线程预计算即将展示的条目的文本布局, 供自定义 View 直接绘制
+ * @see #setTextPrecomputeEnabled
+ * @see #onCollectPrecomputeText
+ * <p>
+ * 12. 缓存条目的测量结果, 内容未变化的条目重新绑定时跳过 convert 与测量
+ * @see #setMeasureCacheEnabled
+ * @see #getItemContentHash
+ * <p>
+ * 13. 条目中嵌套的横向列表共享缓存池并参与预取, 滑出屏幕时保存滚动位置, 重新绑定同一条目时恢复
+ * @see SViewHolder#setNestedAdapter
+ * @see #setNestedRecycledViewPool
+ * @see #setNestedInitialPrefetchItemCount
  *
  * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
  * @version 1.0
@@ -37,15 +84,103 @@ import java.util.List;
 public abstract class SRecyclerAdapter<T> extends RecyclerView.Adapter<SViewHolder>
         implements SViewHolder.OnItemClickInteraction {
 
+    /**
+     * 根据数据量与预估的变化比例自动选择差异计算的方式
+     */
+    public static final int DIFF_STRATEGY_AUTO = 0;
+    /**
+     * 使用 DiffUtil, 结果为最少的操作, 耗时与编辑次数成正比
+     */
+    public static final int DIFF_STRATEGY_MYERS = 1;
+    /**
+     * 基于 {@link #getItemKey} 的线性时间差异计算, 适用于数据量大且移动较多的场景
+     */
+    public static final int DIFF_STRATEGY_KEYED = 2;
+
     private Context mContext;
-    private List<T> mDataSet;
+    private volatile List<T> mDataSet;
+    // 通过 ItemProvider 构建时的数据提供者
+    private ItemProvider<T> mProvider;
     private RecyclerView mRecyclerView;
     private LayoutInflater mInflater;
+    // 最新提交的数据快照, 写入方基于它构建新的版本
+    private final AtomicReference<DataSnapshot<T>> mLatestSnapshot = new AtomicReference<>();
+    // 快照的版本号, 用于丢弃过期的差异计算结果
+    private final AtomicInteger mSnapshotGeneration = new AtomicInteger();
+    // 批量操作的嵌套深度
+    private int mBatchDepth;
+    // 记录批量操作期间的变更
+    private final UpdateOpBatcher mOpBatcher = new UpdateOpBatcher();
+    private AdapterListUpdateCallback mUpdateCallback;
+    // viewType 的缓存, 为 null 时表示未开启
+    private ViewTypeCache mViewTypeCache;
+    private volatile int mDiffStrategy = DIFF_STRATEGY_AUTO;
+    // 轻量绑定模式, 拖动快速滚动条期间开启
+    private boolean mPreviewBinding;
+    // 快速滑动时的轻量绑定
+    private boolean mFlingBindingEnabled;
+    private boolean mFlinging;
+    // 开启轻量绑定的滑动速度(px/s)
+    private int mFlingBindVelocity;
+    private float mScrollVelocity;
+    private long mLastScrollTime;
+    private RecyclerView mAttachedRecyclerView;
+    // 轻量绑定过的 ViewHolder, 每个只记录一次, 结束后对仍然可见且未被完整绑定的执行完整绑定
+    private final List<SViewHolder> mPreviewHolders = new ArrayList<>();
+    private static final int DEFAULT_FLING_BIND_VELOCITY_DP = 3000;
+    // 文本预计算, 为 null 时表示未开启
+    private TextPrecomputer mTextPrecomputer;
+    // 测量结果的缓存, 为 null 时表示未开启
+    private MeasuredHeightCache<T> mMeasureCache;
+    private MeasuredHeightCache.OnItemMeasuredListener mItemMeasuredListener;
+    // 嵌套列表的共享缓存池与滚动状态
+    private final NestedListSupport mNestedSupport = new NestedListSupport();
+    // 两次滚动回调的间隔超过该值(ms)时视为新一轮滚动, 不计算速度
+    private static final long SCROLL_VELOCITY_TIMEOUT = 100;
+
+    // 根据滚动速度切换轻量绑定
+    private final RecyclerView.OnScrollListener mFlingDetector = new RecyclerView.OnScrollListener() {
+        @Override
+        public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+            if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                mScrollVelocity = 0;
+                setFlinging(false);
+            }
+        }
+
+        @Override
+        public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+            long now = SystemClock.uptimeMillis();
+            long elapsed = now - mLastScrollTime;
+            mLastScrollTime = now;
+            if (elapsed <= 0 || elapsed > SCROLL_VELOCITY_TIMEOUT) return;
+            float velocity = Math.max(Math.abs(dx), Math.abs(dy)) * 1000f / elapsed;
+            mScrollVelocity = mScrollVelocity == 0 ? velocity : (mScrollVelocity + velocity) / 2;
+            setFlinging(recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_SETTLING
+                    && mScrollVelocity > mFlingBindVelocity);
+        }
+    };
 
     public SRecyclerAdapter(Context context, List<T> dataSet) {
         this.mContext = context;
         this.mDataSet = dataSet;
         this.mInflater = LayoutInflater.from(mContext);
+        this.mFlingBindVelocity = (int) (DEFAULT_FLING_BIND_VELOCITY_DP
+                * context.getResources().getDisplayMetrics().density);
+        if (dataSet instanceof DataSnapshot) {
+            mLatestSnapshot.set((DataSnapshot<T>) dataSet);
+        }
+    }
+
+    /**
+     * 通过 ItemProvider 构建 Adapter, 只在绑定时按位置获取数据
+     * <p>
+     * 此时 {@link #getDataSet()} 返回的是基于 provider 的只读 List, 数据变更需要通过 provider 通知
+     */
+    public SRecyclerAdapter(Context context, ItemProvider<T> provider) {
+        this(context, provider.asList());
+        mProvider = provider;
+        provider.setUpdateCallback(new AdapterListUpdateCallback(this));
     }
 
     /**
@@ -53,7 +188,41 @@ public abstract class SRecyclerAdapter<T> extends RecyclerView.Adapter<SViewHold
      */
     @Override
     public int getItemViewType(int position) {
-        return getLayoutResId(mDataSet.get(position), position);
+        if (mViewTypeCache == null) {
+            return getLayoutResId(mDataSet.get(position), position);
+        }
+        int viewType = mViewTypeCache.get(position);
+        if (viewType == ViewTypeCache.INVALID_TYPE) {
+            viewType = getLayoutResId(mDataSet.get(position), position);
+            mViewTypeCache.put(position, viewType, getItemCount());
+        }
+        return viewType;
+    }
+
+    /**
+     * 获取已在内存中的数据, 不会触发数据源加载
+     *
+     * @return 通过 ItemProvider 构建且数据尚未加载时返回 null
+     */
+    T peekItem(int position) {
+        return mProvider == null ? mDataSet.get(position) : mProvider.peek(position);
+    }
+
+    /**
+     * 获取 viewType 但不触发数据加载, 用于滚动条的高度预估
+     *
+     * @return 数据尚未加载时返回 {@link ViewTypeCache#INVALID_TYPE}
+     */
+    int peekItemViewType(int position) {
+        if (mViewTypeCache != null) {
+            int viewType = mViewTypeCache.get(position);
+            if (viewType != ViewTypeCache.INVALID_TYPE) return viewType;
+        }
+        if (mProvider == null) {
+            return getItemViewType(position);
+        }
+        T data = mProvider.peek(position);
+        return data == null ? ViewTypeCache.INVALID_TYPE : getLayoutResId(data, position);
     }
 
     @NonNull
@@ -71,7 +240,46 @@ public abstract class SRecyclerAdapter<T> extends RecyclerView.Adapter<SViewHold
 
     @Override
     public void onBindViewHolder(@NonNull SViewHolder holder, int position) {
-        convert(holder, mDataSet.get(position), position);
+        // 子类(如 SMultiTypeAdapter)可能自行创建 ViewHolder, 在绑定时关联
+        holder.setNestedSupport(mNestedSupport);
+        T data = mDataSet.get(position);
+        Object itemKey = getItemKey(data);
+        boolean previewBinding = mPreviewBinding || mFlinging;
+        // 已经完整展示了该条目的当前内容, 跳过绑定, 避免触发重新测量
+        if (mMeasureCache != null && !previewBinding) {
+            boolean unchanged = mMeasureCache.onBind(holder, data, itemKey, getItemContentHash(data), position);
+            if (unchanged && !holder.isPreviewBound()) return;
+        }
+        // 保存上一个条目嵌套列表的滚动状态
+        holder.saveNestedStates();
+        holder.nextBindGeneration();
+        holder.setItemKey(itemKey);
+        holder.setTextPrecomputer(mTextPrecomputer);
+        if (previewBinding) {
+            if (mMeasureCache != null) {
+                // 轻量绑定的内容不完整, 不能作为跳过绑定的依据
+                holder.setMeasureEntry(null);
+            }
+            holder.setPreviewBound(true);
+            addPreviewHolder(holder);
+            convertPreview(holder, data, position);
+        } else {
+            holder.setPreviewBound(false);
+            convert(holder, data, position);
+        }
+        if (mTextPrecomputer != null) {
+            mTextPrecomputer.onBound(this, position);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull SViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+        } else {
+            holder.setNestedSupport(mNestedSupport);
+            convert(holder, mDataSet.get(position), position, payloads);
+        }
     }
 
     @Override
@@ -79,6 +287,43 @@ public abstract class SRecyclerAdapter<T> extends RecyclerView.Adapter<SViewHold
         return mDataSet.size();
     }
 
+    @Override
+    public void onViewRecycled(@NonNull SViewHolder holder) {
+        // 进入缓存池后会被用于任意位置, 不能再跳过绑定
+        holder.setMeasureEntry(null);
+    }
+
+    @Override
+    public void onViewAttachedToWindow(@NonNull SViewHolder holder) {
+        // 轻量绑定后进入 View 缓存的条目, 重新展示时不会再次绑定, 在此执行完整绑定
+        if (holder.isPreviewBound() && !mPreviewBinding && !mFlinging) {
+            bindPreviewHolder(holder);
+        }
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull SViewHolder holder) {
+        // 此时嵌套列表的子 View 尚未被回收, 滚动状态仍然有效
+        holder.saveNestedStates();
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        mAttachedRecyclerView = recyclerView;
+        if (mFlingBindingEnabled) {
+            recyclerView.addOnScrollListener(mFlingDetector);
+        }
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        recyclerView.removeOnScrollListener(mFlingDetector);
+        if (mAttachedRecyclerView == recyclerView) {
+            mAttachedRecyclerView = null;
+        }
+        setFlinging(false);
+    }
+
     @Override
     public void onItemClick(View v, int position) {
 
@@ -111,17 +356,633 @@ public abstract class SRecyclerAdapter<T> extends RecyclerView.Adapter<SViewHold
      */
     protected abstract void convert(SViewHolder holder, T data, int position);
 
+    /**
+     * 携带 payload 的局部刷新, 例如 {@link SelectionTracker#PAYLOAD_SELECTION}
+     * 默认执行完整的绑定, 子类可以复写只刷新 payload 对应的部分
+     */
+    protected void convert(SViewHolder holder, T data, int position, List<Object> payloads) {
+        convert(holder, data, position);
+    }
+
+    /**
+     * 拖动快速滚动条或快速滑动期间的轻量绑定, 条目可能只显示一帧, 只需设置文本等开销较小的内容
+     * <p>
+     * 默认执行完整的绑定, 此期间 {@link SViewHolder#setImageUri} 不会加载图片,
+     * 结束后仍然可见的条目, 以及之后从 View 缓存中重新展示的条目会再执行一次 {@link #convert(SViewHolder, Object, int)}
+     */
+    protected void convertPreview(SViewHolder holder, T data, int position) {
+        convert(holder, data, position);
+    }
+
+    /**
+     * 设置是否在快速滑动(fling)期间使用轻量绑定 {@link #convertPreview}, 默认关闭
+     * <p>
+     * 滑动速度超过阈值时开启, 速度降低或停止滚动后对仍然可见的条目执行完整绑定
+     */
+    public void setFlingBindingEnabled(boolean enabled) {
+        if (mFlingBindingEnabled == enabled) return;
+        mFlingBindingEnabled = enabled;
+        if (mAttachedRecyclerView == null) return;
+        if (enabled) {
+            mAttachedRecyclerView.addOnScrollListener(mFlingDetector);
+        } else {
+            mAttachedRecyclerView.removeOnScrollListener(mFlingDetector);
+            setFlinging(false);
+        }
+    }
+
+    /**
+     * 设置开启轻量绑定的滑动速度, 默认为 3000dp/s
+     *
+     * @param velocity 单位 px/s
+     */
+    public void setFlingBindVelocity(int velocity) {
+        mFlingBindVelocity = velocity;
+    }
+
+    /**
+     * 设置是否在后台线程预计算即将展示的条目的文本布局, 默认关闭
+     * <p>
+     * 需要复写 {@link #onCollectPrecomputeText} 提供文本, 结果按 {@link #getItemKey} 与宽度缓存,
+     * 只能通过 {@link SViewHolder#getPrecomputedLayout} 在自定义 View 中使用;
+     * 普通 TextView 的 {@link SViewHolder#setText} 无法使用预计算的结果, 测量仍在主线程完成
+     */
+    public void setTextPrecomputeEnabled(boolean enabled) {
+        if (enabled && mTextPrecomputer == null) {
+            mTextPrecomputer = new TextPrecomputer();
+        } else if (!enabled && mTextPrecomputer != null) {
+            mTextPrecomputer.clear();
+            mTextPrecomputer = null;
+        }
+    }
+
+    /**
+     * 设置是否缓存条目的测量结果, 默认关闭
+     * <p>
+     * 开启后同一个 ViewHolder 在原位置重新绑定同一条目(由 {@link #getItemKey} 判断)且 {@link #getItemContentHash} 不变时,
+     * 例如使用稳定 id 的 notifyDataSetChanged, 会跳过 convert, 条目不会被重新测量. 从缓存池复用的 ViewHolder 总是完整绑定.
+     * 因此 convert 的结果只能依赖于数据本身, 原地修改数据后需要分发不带 payload 的 notifyItemChanged.
+     * getItemKey 默认为数据本身, 此时同一个数据对象重新绑定无法判断内容是否变化, 不会跳过
+     */
+    public void setMeasureCacheEnabled(boolean enabled) {
+        if (enabled && mMeasureCache == null) {
+            mMeasureCache = new MeasuredHeightCache<>(this);
+            mMeasureCache.setOnItemMeasuredListener(mItemMeasuredListener);
+            registerAdapterDataObserver(mMeasureCache);
+        } else if (!enabled && mMeasureCache != null) {
+            unregisterAdapterDataObserver(mMeasureCache);
+            mMeasureCache.clear();
+            mMeasureCache = null;
+        }
+    }
+
+    /**
+     * 条目内容的哈希值, 用于判断条目的内容是否发生了变化, 默认为数据的 hashCode
+     * 通过 ItemProvider 构建时为 {@link ItemProvider#getItemContentHash}
+     */
+    protected int getItemContentHash(T data) {
+        if (mProvider != null) {
+            return mProvider.getItemContentHash(data);
+        }
+        return data == null ? 0 : data.hashCode();
+    }
+
+    /**
+     * 获取条目中嵌套列表共用的缓存池
+     */
+    public RecyclerView.RecycledViewPool getNestedRecycledViewPool() {
+        return mNestedSupport.getViewPool();
+    }
+
+    /**
+     * 设置条目中嵌套列表共用的缓存池, 可以在多个外部列表之间共享, 只影响之后首次绑定的嵌套列表
+     */
+    public void setNestedRecycledViewPool(RecyclerView.RecycledViewPool viewPool) {
+        mNestedSupport.setViewPool(viewPool);
+    }
+
+    /**
+     * 设置嵌套列表的初始预取数量, 应为嵌套列表首屏可见的条目数, 只影响之后首次绑定的嵌套列表
+     * <p>
+     * 外部列表预取某一行时会同时创建并绑定该行嵌套列表的前 itemCount 个条目, 默认为 LinearLayoutManager 的 2 个
+     */
+    public void setNestedInitialPrefetchItemCount(int itemCount) {
+        mNestedSupport.setInitialPrefetchItemCount(itemCount);
+    }
+
+    /**
+     * 设置条目测量出新高度时的回调, 用于按 viewType 的平均高度预估未展示条目的高度
+     */
+    void setOnItemMeasuredListener(MeasuredHeightCache.OnItemMeasuredListener listener) {
+        mItemMeasuredListener = listener;
+        if (mMeasureCache != null) {
+            mMeasureCache.setOnItemMeasuredListener(listener);
+        }
+    }
+
+    /**
+     * 提供需要预计算的文本, 在主线程调用, 可能早于该位置的绑定
+     *
+     * @param texts 以 TextView 的 id 为 key, 放入与 convert 中 {@link SViewHolder#setText} 相同的文本
+     */
+    protected void onCollectPrecomputeText(T data, int position, SparseArray<CharSequence> texts) {
+    }
+
+    /**
+     * 开启/关闭拖动快速滚动条期间的轻量绑定
+     */
+    void setPreviewBinding(boolean enabled) {
+        if (mPreviewBinding == enabled) return;
+        mPreviewBinding = enabled;
+        if (!enabled && !mFlinging) {
+            flushPreviewHolders();
+        }
+    }
+
+    private void setFlinging(boolean flinging) {
+        if (mFlinging == flinging) return;
+        mFlinging = flinging;
+        if (!flinging && !mPreviewBinding) {
+            flushPreviewHolders();
+        }
+    }
+
+    private void addPreviewHolder(SViewHolder holder) {
+        // 同一个 ViewHolder 在滑动期间会被反复轻量绑定, 只需记录一次
+        if (holder.isPreviewPending()) return;
+        holder.setPreviewPending(true);
+        mPreviewHolders.add(holder);
+    }
+
+    /**
+     * 对轻量绑定后仍然可见的条目执行完整绑定
+     */
+    private void flushPreviewHolders() {
+        for (int i = 0; i < mPreviewHolders.size(); i++) {
+            SViewHolder holder = mPreviewHolders.get(i);
+            holder.setPreviewPending(false);
+            // 之后被完整绑定过的条目无需处理, 不在屏幕上的条目在重新展示时处理
+            if (!holder.isPreviewBound() || holder.itemView.getParent() == null) {
+                continue;
+            }
+            bindPreviewHolder(holder);
+        }
+        mPreviewHolders.clear();
+    }
+
+    /**
+     * 对轻量绑定的条目执行完整绑定
+     */
+    private void bindPreviewHolder(SViewHolder holder) {
+        holder.setPreviewBound(false);
+        int position = holder.getPositionWithoutHeader();
+        if (position >= 0 && position < getItemCount()) {
+            convert(holder, mDataSet.get(position), position);
+        }
+    }
+
+    /**
+     * 获取条目的唯一标识, 用于在数据更新时判断新旧数据是否为同一个条目
+     * 默认为数据本身, 通过 ItemProvider 构建时为 {@link ItemProvider#getItemKey}
+     */
+    protected Object getItemKey(T data) {
+        return mProvider == null ? data : mProvider.getItemKey(data);
+    }
+
+    /**
+     * 判断新旧数据是否为同一个条目, 可能在后台线程调用
+     */
+    protected boolean areItemsTheSame(T oldItem, T newItem) {
+        return equal(getItemKey(oldItem), getItemKey(newItem));
+    }
+
+    /**
+     * 判断同一个条目的内容是否发生了变化, 可能在后台线程调用
+     */
+    protected boolean areContentsTheSame(T oldItem, T newItem) {
+        return equal(oldItem, newItem);
+    }
+
+    /**
+     * 设置是否缓存每个位置的 viewType
+     * <p>
+     * 开启后 getLayoutResId 的结果会被缓存, 只有在收到对应位置的刷新通知后才会重新计算,
+     * 因此 getLayoutResId 的结果只能依赖于数据本身, 数据变更时必须分发刷新通知
+     */
+    public void setViewTypeCacheEnabled(boolean enabled) {
+        if (enabled && mViewTypeCache == null) {
+            mViewTypeCache = new ViewTypeCache();
+            registerAdapterDataObserver(mViewTypeCache);
+        } else if (!enabled && mViewTypeCache != null) {
+            unregisterAdapterDataObserver(mViewTypeCache);
+            mViewTypeCache = null;
+        }
+    }
+
+    /**
+     * 设置提交快照时的差异计算策略
+     * <p>
+     * {@link #DIFF_STRATEGY_KEYED} 要求 getItemKey 的结果唯一且与 areItemsTheSame 保持一致,
+     * 存在重复的标识时会自动使用 DiffUtil
+     */
+    public void setDiffStrategy(int diffStrategy) {
+        mDiffStrategy = diffStrategy;
+    }
+
     /**
      * 获取数据集合
+     * <p>
+     * 通过 {@link #submitSnapshot} 提交过快照后, 返回的是不可修改的 {@link DataSnapshot}
      */
     public List<T> getDataSet() {
         return mDataSet;
     }
 
+    /**
+     * 是否通过 ItemProvider 构建, 此时数据只读, 不支持 add/remove/move 等数据操作
+     */
+    boolean isProviderBacked() {
+        return mProvider != null;
+    }
+
+    /**
+     * ====================================== 批量数据操作 ==========================================
+     * <p>
+     * 以下方法均需在主线程调用, 在 {@link #batch} 中调用时, 刷新通知会在批量操作结束时统一分发
+     * <p>
+     * 存在尚未生效的快照时(差异计算中), 操作会基于最新的快照 {@link #getSnapshot} 执行并重新提交,
+     * 位置相对于最新的快照, 在差异计算完成后生效, 不会被尚未生效的快照覆盖
+     * <p>
+     * 在尾部添加数据
+     */
+    public void add(T item) {
+        add(mDataSet.size(), item);
+    }
+
+    /**
+     * 在指定位置添加数据
+     */
+    public void add(int index, T item) {
+        addAll(index, Collections.singletonList(item));
+    }
+
+    /**
+     * 在尾部添加一组数据
+     */
+    public void addAll(Collection<? extends T> items) {
+        addAll(mDataSet.size(), items);
+    }
+
+    /**
+     * 在指定位置添加一组数据
+     */
+    public void addAll(final int index, final Collection<? extends T> items) {
+        if (items == null || items.isEmpty()) return;
+        if (mLatestSnapshot.get() != null) {
+            boolean applied = updateSnapshotDataSet(new SnapshotUpdater<T>() {
+                @Override
+                public DataSnapshot<T> update(DataSnapshot<T> current) {
+                    return current.insertAll(index, items);
+                }
+            });
+            if (!applied) return;
+        } else {
+            mDataSet.addAll(index, items);
+        }
+        mOpBatcher.onInserted(index, items.size());
+        commitIfNeed();
+    }
+
+    /**
+     * 移除指定位置的数据
+     */
+    public void remove(int position) {
+        removeRange(position, 1);
+    }
+
+    /**
+     * 移除 [positionStart, positionStart + itemCount) 区间的数据
+     */
+    public void removeRange(final int positionStart, final int itemCount) {
+        if (itemCount <= 0) return;
+        if (mLatestSnapshot.get() != null) {
+            boolean applied = updateSnapshotDataSet(new SnapshotUpdater<T>() {
+                @Override
+                public DataSnapshot<T> update(DataSnapshot<T> current) {
+                    return current.removeItems(positionStart, itemCount);
+                }
+            });
+            if (!applied) return;
+        } else {
+            mDataSet.subList(positionStart, positionStart + itemCount).clear();
+        }
+        mOpBatcher.onRemoved(positionStart, itemCount);
+        commitIfNeed();
+    }
+
+    /**
+     * 将 fromPosition 的数据移动到 toPosition
+     */
+    public void move(final int fromPosition, final int toPosition) {
+        if (fromPosition == toPosition) return;
+        if (mLatestSnapshot.get() != null) {
+            boolean applied = updateSnapshotDataSet(new SnapshotUpdater<T>() {
+                @Override
+                public DataSnapshot<T> update(DataSnapshot<T> current) {
+                    return current.move(fromPosition, toPosition);
+                }
+            });
+            if (!applied) return;
+        } else {
+            List<T> dataSet = mDataSet;
+            dataSet.add(toPosition, dataSet.remove(fromPosition));
+        }
+        mOpBatcher.onMoved(fromPosition, toPosition);
+        commitIfNeed();
+    }
+
+    /**
+     * 替换指定位置的数据
+     */
+    public void replace(int position, T item) {
+        replace(position, item, null);
+    }
+
+    /**
+     * 替换指定位置的数据
+     *
+     * @param payload 局部刷新的 payload
+     */
+    public void replace(final int position, final T item, Object payload) {
+        if (mLatestSnapshot.get() != null) {
+            boolean applied = updateSnapshotDataSet(new SnapshotUpdater<T>() {
+                @Override
+                public DataSnapshot<T> update(DataSnapshot<T> current) {
+                    return current.replace(position, item);
+                }
+            });
+            if (!applied) return;
+        } else {
+            mDataSet.set(position, item);
+        }
+        mOpBatcher.onChanged(position, 1, payload);
+        commitIfNeed();
+    }
+
+    /**
+     * 批量操作, action 中的所有数据操作结束后只分发一次合并后的刷新通知
+     */
+    public void batch(BatchAction<T> action) {
+        mBatchDepth++;
+        try {
+            action.run(this);
+        } finally {
+            mBatchDepth--;
+            commitIfNeed();
+        }
+    }
+
+    /**
+     * 快照模式下的数据操作
+     * 1. 最新的快照已经生效时, 直接替换当前数据, 由调用方记录刷新通知
+     * 2. 存在尚未生效的快照时, 基于最新的快照执行并重新提交, 避免本次操作被尚未生效的快照覆盖
+     *
+     * @return 是否已同步生效
+     */
+    private boolean updateSnapshotDataSet(SnapshotUpdater<T> op) {
+        DataSnapshot<T> latest = mLatestSnapshot.get();
+        if (latest == mDataSet) {
+            DataSnapshot<T> next = op.update(latest);
+            // 期间其他线程提交了新的快照时 CAS 失败, 按照存在尚未生效的快照处理
+            if (mLatestSnapshot.compareAndSet(latest, next)) {
+                mDataSet = next;
+                return true;
+            }
+        }
+        updateSnapshot(op);
+        return false;
+    }
+
+    /**
+     * 不在批量操作中时, 分发记录的刷新通知
+     */
+    private void commitIfNeed() {
+        if (mBatchDepth > 0 || mOpBatcher.isEmpty()) return;
+        mOpBatcher.dispatchTo(getUpdateCallback());
+    }
+
+    private AdapterListUpdateCallback getUpdateCallback() {
+        if (mUpdateCallback == null) {
+            mUpdateCallback = new AdapterListUpdateCallback(this);
+        }
+        return mUpdateCallback;
+    }
+
+    /**
+     * 获取最新提交的数据快照, 不会拷贝数据
+     *
+     * @return 尚未提交过快照时返回 null
+     */
+    DataSnapshot<T> peekSnapshot() {
+        return mLatestSnapshot.get();
+    }
+
+    /**
+     * 获取最新的数据快照, 可以在任意线程调用
+     * <p>
+     * 若构造时传入的是可变集合且尚未提交过快照, 则会拷贝当前数据, 此时需要在主线程调用
+     */
+    public DataSnapshot<T> getSnapshot() {
+        DataSnapshot<T> latest = mLatestSnapshot.get();
+        return latest != null ? latest : DataSnapshot.copyOf(mDataSet);
+    }
+
+    /**
+     * 提交新的数据快照, 可以在任意线程调用
+     * <p>
+     * 差异计算在后台线程进行, 完成后在主线程替换数据并分发刷新通知;
+     * 连续提交时只有最后一次提交的快照会生效
+     */
+    public void submitSnapshot(DataSnapshot<T> snapshot) {
+        if (snapshot == null) {
+            snapshot = DataSnapshot.empty();
+        }
+        mLatestSnapshot.set(snapshot);
+        dispatchSnapshot(snapshot);
+    }
+
+    /**
+     * 基于最新的快照构建新的版本并提交, 可以在任意线程调用
+     * <p>
+     * 多个线程同时更新时, 会基于其他线程的结果重试, 不会丢失更新;
+     * 构造时传入的是可变集合且尚未提交过快照时, 首次调用需要在主线程, 用于拷贝当前数据作为初始快照
+     *
+     * @param updater 根据当前快照返回新的快照, 可能会被调用多次, 不应有副作用
+     */
+    public void updateSnapshot(SnapshotUpdater<T> updater) {
+        while (true) {
+            DataSnapshot<T> expected = mLatestSnapshot.get();
+            if (expected == null) {
+                // 可变集合只能在主线程读取
+                if (!AdapterExecutors.isMainThread()) {
+                    throw new IllegalStateException("SRecyclerAdapter.updateSnapshot -> the data set is mutable, "
+                            + "call submitSnapshot first or call this on the main thread!");
+                }
+                mLatestSnapshot.compareAndSet(null, DataSnapshot.copyOf(mDataSet));
+                continue;
+            }
+            DataSnapshot<T> next = updater.update(expected);
+            if (next == null) {
+                next = DataSnapshot.empty();
+            }
+            if (mLatestSnapshot.compareAndSet(expected, next)) {
+                dispatchSnapshot(next);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 计算新旧数据的差异, 然后在主线程进行替换
+     */
+    private void dispatchSnapshot(final DataSnapshot<T> snapshot) {
+        final int generation = mSnapshotGeneration.incrementAndGet();
+        final List<T> oldDataSet = mDataSet;
+        if (oldDataSet instanceof DataSnapshot) {
+            // 旧数据同样为不可变快照, 可以在后台线程安全的计算差异
+            AdapterExecutors.background().execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (generation != mSnapshotGeneration.get()) return;
+                    final UpdateOpBatcher result = calculateDiff(oldDataSet, snapshot);
+                    AdapterExecutors.postToMain(new Runnable() {
+                        @Override
+                        public void run() {
+                            applySnapshot(generation, oldDataSet, snapshot, result);
+                        }
+                    });
+                }
+            });
+        } else {
+            // 可变集合只能在主线程读取
+            AdapterExecutors.runOnMain(new Runnable() {
+                @Override
+                public void run() {
+                    if (generation != mSnapshotGeneration.get()) return;
+                    List<T> current = mDataSet;
+                    applySnapshot(generation, current, snapshot, calculateDiff(current, snapshot));
+                }
+            });
+        }
+    }
+
+    /**
+     * 主线程中替换快照并分发刷新通知
+     */
+    private void applySnapshot(int generation, List<T> oldDataSet, DataSnapshot<T> snapshot,
+                               UpdateOpBatcher result) {
+        // 已有更新的快照提交, 丢弃本次结果
+        if (generation != mSnapshotGeneration.get()) return;
+        if (mDataSet != oldDataSet) {
+            // 计算期间数据被其他途径修改, 差异结果已失效
+            mDataSet = snapshot;
+            notifyDataSetChanged();
+        } else {
+            mDataSet = snapshot;
+            result.dispatchTo(getUpdateCallback());
+        }
+    }
+
+    /**
+     * 计算新旧数据集之间的差异, 记录为刷新通知
+     */
+    private UpdateOpBatcher calculateDiff(final List<T> oldDataSet, final List<T> newDataSet) {
+        int strategy = mDiffStrategy;
+        if (strategy != DIFF_STRATEGY_MYERS) {
+            KeyedDiff.Callback callback = new KeyedDiff.Callback() {
+                @Override
+                int getOldListSize() {
+                    return oldDataSet.size();
+                }
+
+                @Override
+                int getNewListSize() {
+                    return newDataSet.size();
+                }
+
+                @Override
+                Object getOldItemKey(int oldItemPosition) {
+                    return getItemKey(oldDataSet.get(oldItemPosition));
+                }
+
+                @Override
+                Object getNewItemKey(int newItemPosition) {
+                    return getItemKey(newDataSet.get(newItemPosition));
+                }
+
+                @Override
+                boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                    return SRecyclerAdapter.this.areContentsTheSame(oldDataSet.get(oldItemPosition),
+                            newDataSet.get(newItemPosition));
+                }
+            };
+            if (strategy == DIFF_STRATEGY_KEYED || KeyedDiff.shouldUseKeyedDiff(callback)) {
+                UpdateOpBatcher result = KeyedDiff.calculate(callback);
+                // 存在重复的标识时使用 DiffUtil
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        UpdateOpBatcher result = new UpdateOpBatcher();
+        DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldDataSet.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newDataSet.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return SRecyclerAdapter.this.areItemsTheSame(oldDataSet.get(oldItemPosition),
+                        newDataSet.get(newItemPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return SRecyclerAdapter.this.areContentsTheSame(oldDataSet.get(oldItemPosition),
+                        newDataSet.get(newItemPosition));
+            }
+        }).dispatchUpdatesTo(result);
+        return result;
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
     /**
      * 获取上下文
      */
     public Context getContext() {
         return mContext;
     }
+
+    /**
+     * 批量操作
+     */
+    public interface BatchAction<T> {
+        void run(SRecyclerAdapter<T> adapter);
+    }
+
+    /**
+     * 快照的更新器
+     */
+    public interface SnapshotUpdater<T> {
+        DataSnapshot<T> update(DataSnapshot<T> current);
+    }
 }
@@ -5,6 +5,7 @@ import android.animation.ValueAnimator;
 import android.content.Context;
 import android.support.annotation.Nullable;
 import android.support.v4.view.ViewCompat;
+import android.support.v7.widget.LinearLayoutManager;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
@@ -13,6 +14,12 @@ import android.view.ViewGroup;
 /**
  * 支持上拉加载更多的 RecyclerView, 用户通过 addLoadViewCreator() 方法自定义上拉加载效果
  * 继承了 RefreshRecyclerView: 下拉刷新, 添加 Header 和 Footer 的功能
+ * <p>
+ * 聊天模式: 通过 {@link #setChatModeEnabled(boolean)} 开启
+ * 1. 列表从底部开始排列, 加载 View 位于顶部, 下拉加载更早的数据
+ * 2. 在可见条目之前插入数据时(如 adapter.addAll(0, older)), 保持当前阅读的条目在屏幕上的位置不变,
+ * 只分发区间插入通知, 不会整体重新绑定
+ * 3. 顶部的下拉手势优先用于加载更早的数据, 同时设置了 LoadViewCreator 与 RefreshViewCreator 时下拉刷新不会被触发
  *
  * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
  * @version 1.0
@@ -33,6 +40,24 @@ public class SRecyclerView extends RefreshWrapperRecyclerView {
     private boolean mCurrentDrag = false;// 当前是否正在拖动
     // 处理加载更多回调监听
     private OnLoadMoreListener mListener;
+    // 聊天模式: 从底部开始排列, 加载 View 位于顶部
+    private boolean mChatMode = false;
+    // 聊天模式下, 在可见条目之前插入数据时保持其在屏幕上的位置
+    private final AdapterDataObserver mAnchorObserver = new AdapterDataObserver() {
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            if (mChatMode) {
+                keepAnchor(positionStart, itemCount, itemCount);
+            }
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            if (mChatMode) {
+                keepAnchor(positionStart, itemCount, -itemCount);
+            }
+        }
+    };
 
     public SRecyclerView(Context context) {
         super(context);
@@ -56,7 +81,11 @@ public class SRecyclerView extends RefreshWrapperRecyclerView {
         View loadView = mLoadCreator.getLoadView(getContext(), this);
         if (loadView != null) {
             mLoadView = loadView;
-            addFooterView(mLoadView);
+            if (mChatMode) {
+                addHeaderView(mLoadView);
+            } else {
+                addFooterView(mLoadView);
+            }
         } else {
             throw new RuntimeException("上拉加载的 View 不能为 null");
         }
@@ -82,7 +111,7 @@ public class SRecyclerView extends RefreshWrapperRecyclerView {
             // 测量完成之后获取测量高度
             mLoadViewHeight = mLoadView.getMeasuredHeight();
             if (mLoadViewHeight > 0) {
-                setLoadViewMarginBottom(-mLoadViewHeight + 1);
+                setLoadViewMargin(-mLoadViewHeight + 1);
             }
         }
     }
@@ -103,22 +132,26 @@ public class SRecyclerView extends RefreshWrapperRecyclerView {
     public boolean onTouchEvent(MotionEvent e) {
         switch (e.getAction()) {
             case MotionEvent.ACTION_MOVE: {
-                // 如果是在最底部才处理，否则不需要处理
-                if (canScrollDown() || mCurrentLoadStatus == LOAD_STATUS_LOADING
+                // 如果是在最底部(聊天模式为最顶部)才处理，否则不需要处理
+                boolean canScroll = mChatMode ? canScrollUp() : canScrollDown();
+                if (canScroll || mCurrentLoadStatus == LOAD_STATUS_LOADING
                         || mLoadCreator == null || mLoadView == null) {
                     // 如果没有到达最顶端，也就是说还可以向上滚动就什么都不处理
                     return super.onTouchEvent(e);
                 }
-                // 解决上拉加载更多自动滚动问题, 上拉加载的时候将RecyclerView锁定在最后一行
+                // 解决上拉加载更多自动滚动问题, 上拉加载的时候将RecyclerView锁定在最后一行(聊天模式为第一行)
                 if (mCurrentDrag) {
-                    scrollToPosition(getAdapter().getItemCount() - 1);
+                    scrollToPosition(mChatMode ? 0 : getAdapter().getItemCount() - 1);
                 }
-                // 获取手指触摸拖拽的距离
+                // 获取手指触摸拖拽的距离, 聊天模式下为向下拉动
                 int distanceY = (int) ((e.getRawY() - mFingerDownY) * mDragIndex);
+                if (mChatMode) {
+                    distanceY = -distanceY;
+                }
                 // 如果是已经到达底部，并且不断的向上拉，那么不断的改变loadView的marginBottom的值
                 if (distanceY < 0) {
-                    int marginBottom = -distanceY - mLoadViewHeight;
-                    setLoadViewMarginBottom(marginBottom);
+                    int margin = -distanceY - mLoadViewHeight;
+                    setLoadViewMargin(margin);
                     updateLoadStatus(-distanceY);
                     mCurrentDrag = true;
                     return true;
@@ -159,7 +192,8 @@ public class SRecyclerView extends RefreshWrapperRecyclerView {
     private void restoreLoadView() {
         if (mLoadView == null) return;
         // 判断是否满足加载条件
-        int currentBottomMargin = ((ViewGroup.MarginLayoutParams) mLoadView.getLayoutParams()).bottomMargin;
+        ViewGroup.MarginLayoutParams params = (ViewGroup.MarginLayoutParams) mLoadView.getLayoutParams();
+        int currentBottomMargin = mChatMode ? params.topMargin : params.bottomMargin;
         int finalBottomMargin = -mLoadViewHeight + 1;
         if (mCurrentLoadStatus == LOAD_STATUS_LOOSEN_LOADING) {
             mCurrentLoadStatus = LOAD_STATUS_LOADING;
@@ -178,7 +212,7 @@ public class SRecyclerView extends RefreshWrapperRecyclerView {
             @Override
             public void onAnimationUpdate(ValueAnimator animation) {
                 float currentBottomMargin = (float) animation.getAnimatedValue();
-                setLoadViewMarginBottom((int) currentBottomMargin);
+                setLoadViewMargin((int) currentBottomMargin);
             }
         });
         animator.start();
@@ -186,17 +220,130 @@ public class SRecyclerView extends RefreshWrapperRecyclerView {
     }
 
     /**
-     * 设置加载View的marginBottom
+     * 设置加载View的marginBottom, 聊天模式下为marginTop
      */
-    private void setLoadViewMarginBottom(int marginBottom) {
+    private void setLoadViewMargin(int margin) {
         ViewGroup.MarginLayoutParams params = (ViewGroup.MarginLayoutParams) mLoadView.getLayoutParams();
-        if (marginBottom < -mLoadViewHeight + 1) {
-            marginBottom = -mLoadViewHeight + 1;
+        if (margin < -mLoadViewHeight + 1) {
+            margin = -mLoadViewHeight + 1;
+        }
+        if (mChatMode) {
+            params.topMargin = margin;
+        } else {
+            params.bottomMargin = margin;
         }
-        params.bottomMargin = marginBottom;
         mLoadView.setLayoutParams(params);
     }
 
+    /**
+     * 开启聊天模式
+     * 1. 列表从底部开始排列(LinearLayoutManager#setStackFromEnd)
+     * 2. 加载 View 移动到顶部, 下拉时加载更早的数据
+     * 3. 在可见条目之前插入/删除数据时保持当前阅读的条目在屏幕上的位置, 仅对纵向的 LinearLayoutManager 生效
+     * <p>
+     * 顶部的下拉手势由加载更早的数据使用, 设置了 LoadViewCreator 时不会再触发 RefreshViewCreator 的下拉刷新
+     */
+    public void setChatModeEnabled(boolean enabled) {
+        if (mChatMode == enabled) return;
+        mChatMode = enabled;
+        if (getLayoutManager() instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) getLayoutManager()).setStackFromEnd(enabled);
+        }
+        if (mLoadView == null) return;
+        // 恢复加载 View 的初始位置
+        ViewGroup.MarginLayoutParams params = (ViewGroup.MarginLayoutParams) mLoadView.getLayoutParams();
+        if (params != null) {
+            params.topMargin = 0;
+            params.bottomMargin = 0;
+        }
+        if (mLoadViewHeight > 0) {
+            setLoadViewMargin(-mLoadViewHeight + 1);
+        }
+        // 将加载 View 移动到顶部/底部
+        final View loadView = mLoadView;
+        batchHeaderFooter(new Runnable() {
+            @Override
+            public void run() {
+                if (mChatMode) {
+                    removeFooterView(loadView);
+                    addHeaderView(loadView);
+                } else {
+                    removeHeaderView(loadView);
+                    addFooterView(loadView);
+                }
+            }
+        });
+    }
+
+    public boolean isChatModeEnabled() {
+        return mChatMode;
+    }
+
+    @Override
+    public void setLayoutManager(LayoutManager layout) {
+        super.setLayoutManager(layout);
+        if (mChatMode && layout instanceof LinearLayoutManager) {
+            ((LinearLayoutManager) layout).setStackFromEnd(true);
+        }
+    }
+
+    @Override
+    public void setAdapter(Adapter adapter) {
+        WrapRecyclerAdapter oldWrapAdapter = getWrapAdapter();
+        if (oldWrapAdapter != null) {
+            oldWrapAdapter.unregisterAdapterDataObserver(mAnchorObserver);
+        }
+        super.setAdapter(adapter);
+        // 包装后的 Adapter 只被当前 View 持有, 注册观察者不会导致泄漏
+        WrapRecyclerAdapter wrapAdapter = getWrapAdapter();
+        if (wrapAdapter != null) {
+            wrapAdapter.registerAdapterDataObserver(mAnchorObserver);
+        }
+    }
+
+    /**
+     * 在可见条目之前插入/删除数据时, 将第一个可见的数据条目固定在原先的偏移处
+     * <p>
+     * 观察者按注册的逆序回调, 此时 RecyclerView 尚未记录本次更新, 子 View 的 AdapterPosition
+     * 已经包含同一帧内之前的更新, 但不包含本次更新, 因此同一帧内的多次更新会依次累加
+     *
+     * @param shift 锚点位置的偏移量, 插入为正, 删除为负
+     */
+    private void keepAnchor(int positionStart, int itemCount, int shift) {
+        LayoutManager layoutManager = getLayoutManager();
+        if (!(layoutManager instanceof LinearLayoutManager)) return;
+        LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+        if (linearLayoutManager.getOrientation() != LinearLayoutManager.VERTICAL) return;
+        boolean reverseLayout = linearLayoutManager.getReverseLayout();
+        View anchor = null;
+        int anchorPosition = NO_POSITION;
+        for (int i = 0; i < getChildCount(); i++) {
+            View child = getChildAt(i);
+            ViewHolder holder = getChildViewHolder(child);
+            int position = holder.getAdapterPosition();
+            // 跳过页眉/页脚, 已被删除的与完全不可见的 View
+            if (holder instanceof WrapRecyclerAdapter.HeaderFooterViewHolder
+                    || position == NO_POSITION
+                    || layoutManager.getDecoratedBottom(child) <= getPaddingTop()
+                    || layoutManager.getDecoratedTop(child) >= getHeight() - getPaddingBottom()) {
+                continue;
+            }
+            // 取屏幕上位置最靠前的数据条目
+            if (anchorPosition == NO_POSITION || position < anchorPosition) {
+                anchor = child;
+                anchorPosition = position;
+            }
+        }
+        // 更新位置在锚点之后, LayoutManager 会自然保持现有条目的位置
+        if (anchor == null || positionStart > anchorPosition) return;
+        // 锚点本身被删除时交给 LayoutManager 处理
+        if (shift < 0 && positionStart + itemCount > anchorPosition) return;
+        int offset = reverseLayout
+                ? getHeight() - getPaddingBottom() - layoutManager.getDecoratedBottom(anchor)
+                : layoutManager.getDecoratedTop(anchor) - getPaddingTop();
+        linearLayoutManager.scrollToPositionWithOffset(anchorPosition + shift, offset);
+    }
+
     /**
      * @return Whether it is possible for the child view of this layout to
      * scroll up. Override this if the child view is a custom view.
@@ -232,6 +379,20 @@ public class SRecyclerView extends RefreshWrapperRecyclerView {
         }
     }
 
+    /**
+     * 开启调试模式, 在 Logcat 中输出正在监听数据变化的 Adapter 数量, 用于发现未释放的 Adapter
+     */
+    public static void setDebugEnabled(boolean enabled) {
+        WrapRecyclerAdapter.setDebugEnabled(enabled);
+    }
+
+    /**
+     * 正在监听数据变化的 Adapter 数量, 正常情况下与显示中的 SRecyclerView 数量一致
+     */
+    public static int getLiveAdapterCount() {
+        return WrapRecyclerAdapter.getLiveCount();
+    }
+
     public void setOnLoadMoreListener(OnLoadMoreListener listener) {
         this.mListener = listener;
     }
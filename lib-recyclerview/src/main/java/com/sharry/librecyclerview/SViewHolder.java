@@ -3,7 +3,9 @@ package com.sharry.librecyclerview;
 import android.content.Context;
 import android.support.annotation.DrawableRes;
 import android.support.v7.widget.RecyclerView;
+import android.text.Layout;
 import android.util.SparseArray;
+import android.util.SparseIntArray;
 import android.view.View;
 import android.view.ViewGroup;
 import android.widget.ImageView;
@@ -37,6 +39,25 @@ public class SViewHolder extends RecyclerView.ViewHolder {
 
     // 用于与 Adapter 之间进行交互
     private OnItemClickInteraction mClickInteraction;
+    // 是否为轻量绑定, 此时不加载图片
+    private boolean mPreviewBound;
+    // 是否已记录在 Adapter 等待完整绑定的列表中
+    private boolean mPreviewPending;
+    // 绑定的代数, 每次绑定新的位置时递增, 用于判断延迟的完整绑定是否已经过期
+    private int mBindGeneration;
+    // 文本预计算, 未开启时为 null
+    private TextPrecomputer mTextPrecomputer;
+    // 当前绑定的条目标识
+    private Object mItemKey;
+    // 当前展示的条目的测量结果, 未开启测量缓存时为 null
+    private MeasuredHeightCache.Entry mMeasureEntry;
+    // 测量结果对应的绑定位置
+    private int mMeasurePosition = RecyclerView.NO_POSITION;
+    private boolean mMeasureTracked;
+    // 嵌套列表的公共配置
+    private NestedListSupport mNestedSupport;
+    // 嵌套列表的 viewId -> 最近一次恢复滚动状态时的绑定代数
+    private SparseIntArray mNestedGenerations;
 
     public SViewHolder(View itemView, int viewType, OnItemClickInteraction interaction) {
         super(itemView);
@@ -77,13 +98,111 @@ public class SViewHolder extends RecyclerView.ViewHolder {
 
     /**
      * 设置 TextView 文本
+     * <p>
+     * 开启文本预计算时只会记录文本参数, 普通的 TextView 无法直接使用预计算的结果, 测量仍在主线程完成;
+     * 需要使用预计算结果的自定义 View 可以通过 {@link #getPrecomputedLayout} 获取
      */
     public SViewHolder setText(int viewId, CharSequence text) {
         TextView tv = getView(viewId);
         tv.setText(text);
+        if (mTextPrecomputer != null) {
+            // 记录文本参数, 用于之后同类型条目的预计算
+            mTextPrecomputer.recordParams(mViewType, viewId, tv);
+        }
         return this;
     }
 
+    /**
+     * 获取后台预计算好的文本布局, 可用于自定义 View 直接绘制
+     * 需要在 SRecyclerAdapter 中开启文本预计算
+     *
+     * @return 未命中时返回 null
+     * @see SRecyclerAdapter#setTextPrecomputeEnabled
+     */
+    public Layout getPrecomputedLayout(int viewId) {
+        if (mTextPrecomputer == null) return null;
+        TextView tv = getView(viewId);
+        return mTextPrecomputer.get(mItemKey, viewId, tv, tv.getText());
+    }
+
+    void setTextPrecomputer(TextPrecomputer precomputer) {
+        mTextPrecomputer = precomputer;
+    }
+
+    void setItemKey(Object itemKey) {
+        mItemKey = itemKey;
+    }
+
+    /**
+     * 设置嵌套列表(如横向的轮播)的 Adapter, 在 convert 中调用
+     * <p>
+     * 1. 首次调用时为内部列表设置共享的缓存池与初始预取数量, 未设置 LayoutManager 时使用横向的 LinearLayoutManager
+     * 2. 每次绑定新的条目时恢复该条目之前的滚动位置, 没有记录时滚动到起始位置
+     *
+     * @see SRecyclerAdapter#setNestedRecycledViewPool
+     * @see SRecyclerAdapter#setNestedInitialPrefetchItemCount
+     */
+    public SViewHolder setNestedAdapter(int viewId, RecyclerView.Adapter adapter) {
+        RecyclerView nested = getView(viewId);
+        if (mNestedGenerations == null) {
+            mNestedGenerations = new SparseIntArray();
+        }
+        int restoredGeneration = mNestedGenerations.get(viewId, -1);
+        if (restoredGeneration == -1 && mNestedSupport != null) {
+            mNestedSupport.setup(nested);
+        }
+        if (nested.getAdapter() != adapter) {
+            nested.setAdapter(adapter);
+        }
+        // 同一次绑定中的局部刷新不恢复, 避免覆盖用户的滑动
+        if (restoredGeneration != mBindGeneration) {
+            mNestedGenerations.put(viewId, mBindGeneration);
+            if (mNestedSupport != null) {
+                mNestedSupport.restoreState(mItemKey, viewId, nested);
+            }
+        }
+        return this;
+    }
+
+    void setNestedSupport(NestedListSupport nestedSupport) {
+        mNestedSupport = nestedSupport;
+    }
+
+    /**
+     * 保存当前条目所有嵌套列表的滚动状态
+     */
+    void saveNestedStates() {
+        if (mNestedGenerations == null || mNestedSupport == null) return;
+        for (int i = 0; i < mNestedGenerations.size(); i++) {
+            int viewId = mNestedGenerations.keyAt(i);
+            mNestedSupport.saveState(mItemKey, viewId, (RecyclerView) getView(viewId));
+        }
+    }
+
+    MeasuredHeightCache.Entry getMeasureEntry() {
+        return mMeasureEntry;
+    }
+
+    void setMeasureEntry(MeasuredHeightCache.Entry measureEntry) {
+        mMeasureEntry = measureEntry;
+    }
+
+    int getMeasurePosition() {
+        return mMeasurePosition;
+    }
+
+    void setMeasurePosition(int measurePosition) {
+        mMeasurePosition = measurePosition;
+    }
+
+    boolean isMeasureTracked() {
+        return mMeasureTracked;
+    }
+
+    void setMeasureTracked(boolean measureTracked) {
+        mMeasureTracked = measureTracked;
+    }
+
     /**
      * 设置 ImageView 的资源文件
      */
@@ -101,10 +220,45 @@ public class SViewHolder extends RecyclerView.ViewHolder {
         if (imageLoader == null) {
             throw new NullPointerException("SViewHolder.setImageUri -> parameter imageLoader must not be null!");
         }
+        // 轻量绑定期间暂停加载图片, 完整绑定时再加载
+        if (mPreviewBound) {
+            imageView.setImageDrawable(null);
+            return this;
+        }
         imageLoader.displayImage(imageView.getContext(), uri, imageView);
         return this;
     }
 
+    /**
+     * 当前是否为轻量绑定, 如拖动快速滚动条或快速滑动期间, 此时应避免加载图片等耗时操作
+     */
+    public boolean isPreviewBound() {
+        return mPreviewBound;
+    }
+
+    void setPreviewBound(boolean previewBound) {
+        mPreviewBound = previewBound;
+    }
+
+    boolean isPreviewPending() {
+        return mPreviewPending;
+    }
+
+    void setPreviewPending(boolean previewPending) {
+        mPreviewPending = previewPending;
+    }
+
+    /**
+     * 当前的绑定代数, 每次执行 onBindViewHolder(不含 payload 局部刷新)时递增
+     */
+    public int getBindGeneration() {
+        return mBindGeneration;
+    }
+
+    int nextBindGeneration() {
+        return ++mBindGeneration;
+    }
+
     /**
      * ====================================== 配置点击事件 ==========================================
      * <p>
@@ -161,6 +315,13 @@ public class SViewHolder extends RecyclerView.ViewHolder {
         });
     }
 
+    /**
+     * 获取 holder 在原始 Adapter 中的 position
+     */
+    int getPositionWithoutHeader() {
+        return getPositionWithoutHeader((ViewGroup) itemView.getParent());
+    }
+
     /**
      * 获取 holder 的 position
      * (Optimize: 有一定的侵入性)
@@ -0,0 +1,462 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.widget.RecyclerView;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.util.BitSet;
+
+/**
+ * SRecyclerAdapter 的多选状态
+ * <p>
+ * 1. 键模式: 通过 {@link KeyProvider} 以条目的唯一标识记录选中状态, 数据插入/删除/移动后选中状态依旧正确
+ * 2. 位置模式: 以位置记录选中状态, 收到 Adapter 的区间刷新通知时自动平移
+ * 3. 选中状态变化时只通知发生变化的位置, 并携带 {@link #PAYLOAD_SELECTION},
+ * 在 {@link SRecyclerAdapter#convert(SViewHolder, Object, int, java.util.List)} 中只需刷新选中样式;
+ * RecyclerView 只会重新绑定屏幕上的条目, 全选 10k 条数据也不会绑定不可见的条目
+ * 4. 通过 {@link #startDragSelection} 支持手指滑动连续选择
+ * 5. 位置模式会向 Adapter 注册观察者, Tracker 的生命周期短于 Adapter 时需要调用 {@link #release()} 注销
+ * 6. 键模式的全选只记录全选标记, 之后取消选中的条目记录在排除集合中, 不会读取所有条目的标识,
+ * 通过 ItemProvider 构建的 Adapter 不会因此加载全部数据; 全选后插入的条目同样为选中状态
+ * <p>
+ * 所有方法需要在主线程调用, 位置均为 Adapter 中的位置(不包含 Header)
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class SelectionTracker<T> {
+
+    /**
+     * 选中状态变化时的 payload
+     */
+    public static final Object PAYLOAD_SELECTION = new Object();
+
+    private final SRecyclerAdapter<T> mAdapter;
+    private final KeyProvider<T> mKeyProvider;
+    // 键模式下选中的标识, 全选时为取消选中的标识
+    private final LongHashSet mSelectedKeys;
+    // 键模式下是否为全选
+    private boolean mAllSelected;
+    // 位置模式下选中的位置
+    private final BitSet mSelectedPositions;
+    // 位置模式下注册的观察者
+    private PositionShifter mPositionShifter;
+    private OnSelectionChangedListener mListener;
+    // 滑动选择
+    private RecyclerView mRecyclerView;
+    private DragSelectListener mDragSelectListener;
+
+    /**
+     * 位置模式
+     */
+    public SelectionTracker(SRecyclerAdapter<T> adapter) {
+        this(adapter, null);
+    }
+
+    /**
+     * 键模式
+     *
+     * @param keyProvider 提供条目唯一的 long 标识, 为 null 时使用位置模式
+     */
+    public SelectionTracker(SRecyclerAdapter<T> adapter, KeyProvider<T> keyProvider) {
+        mAdapter = adapter;
+        mKeyProvider = keyProvider;
+        if (keyProvider != null) {
+            mSelectedKeys = new LongHashSet();
+            mSelectedPositions = null;
+        } else {
+            mSelectedKeys = null;
+            mSelectedPositions = new BitSet();
+            mPositionShifter = new PositionShifter();
+            mAdapter.registerAdapterDataObserver(mPositionShifter);
+        }
+    }
+
+    public void setOnSelectionChangedListener(OnSelectionChangedListener listener) {
+        mListener = listener;
+    }
+
+    public boolean isSelected(int position) {
+        if (mSelectedKeys != null) {
+            return mSelectedKeys.contains(keyOf(position)) != mAllSelected;
+        }
+        return mSelectedPositions.get(position);
+    }
+
+    public void setSelected(int position, boolean selected) {
+        setRangeSelected(position, position, selected);
+    }
+
+    public void toggle(int position) {
+        setSelected(position, !isSelected(position));
+    }
+
+    /**
+     * 设置 [fromPosition, toPosition] 区间的选中状态, 两端的顺序不限
+     */
+    public void setRangeSelected(int fromPosition, int toPosition, boolean selected) {
+        int start = Math.max(0, Math.min(fromPosition, toPosition));
+        int end = Math.min(mAdapter.getItemCount() - 1, Math.max(fromPosition, toPosition));
+        // 连续发生变化的区间的起点
+        int runStart = -1;
+        boolean changed = false;
+        for (int position = start; position <= end; position++) {
+            if (setSelectedInternal(position, selected)) {
+                changed = true;
+                if (runStart < 0) runStart = position;
+            } else if (runStart >= 0) {
+                notifyRangeChanged(runStart, position - runStart);
+                runStart = -1;
+            }
+        }
+        if (runStart >= 0) {
+            notifyRangeChanged(runStart, end + 1 - runStart);
+        }
+        if (changed) {
+            dispatchSelectionChanged();
+        }
+    }
+
+    /**
+     * 全选, 只分发一次区间刷新通知
+     */
+    public void selectAll() {
+        int count = mAdapter.getItemCount();
+        if (count == 0) return;
+        if (mSelectedKeys != null) {
+            mAllSelected = true;
+            mSelectedKeys.clear();
+        } else {
+            mSelectedPositions.set(0, count);
+        }
+        notifyRangeChanged(0, count);
+        dispatchSelectionChanged();
+    }
+
+    /**
+     * 清空选中状态
+     */
+    public void clearSelection() {
+        if (getSelectionCount() == 0 && !mAllSelected) return;
+        if (mSelectedKeys != null) {
+            mAllSelected = false;
+            mSelectedKeys.clear();
+        } else {
+            mSelectedPositions.clear();
+        }
+        notifyRangeChanged(0, mAdapter.getItemCount());
+        dispatchSelectionChanged();
+    }
+
+    /**
+     * 选中的数量
+     * <p>
+     * 键模式下已删除条目的标识会被保留, 需要时通过 {@link #prune()} 移除
+     */
+    public int getSelectionCount() {
+        if (mSelectedKeys == null) {
+            return mSelectedPositions.cardinality();
+        }
+        return mAllSelected ? Math.max(0, mAdapter.getItemCount() - mSelectedKeys.size()) : mSelectedKeys.size();
+    }
+
+    /**
+     * 键模式下是否为全选, 此时选中的条目为除 {@link #getDeselectedKeys()} 以外的所有条目
+     */
+    public boolean isAllSelected() {
+        return mAllSelected;
+    }
+
+    /**
+     * 键模式下全选后取消选中的标识, 非全选时为空
+     */
+    public long[] getDeselectedKeys() {
+        if (mSelectedKeys == null) {
+            throw new IllegalStateException("SelectionTracker.getDeselectedKeys -> only available in key mode!");
+        }
+        return mAllSelected ? mSelectedKeys.toArray() : new long[0];
+    }
+
+    /**
+     * 键模式下选中的标识
+     * <p>
+     * 全选时需要读取所有条目的标识, 数据量巨大时优先使用 {@link #isAllSelected()} 与 {@link #getDeselectedKeys()}
+     */
+    public long[] getSelectedKeys() {
+        if (mSelectedKeys == null) {
+            throw new IllegalStateException("SelectionTracker.getSelectedKeys -> only available in key mode!");
+        }
+        if (!mAllSelected) {
+            return mSelectedKeys.toArray();
+        }
+        LongHashSet selected = new LongHashSet();
+        for (int position = 0, count = mAdapter.getItemCount(); position < count; position++) {
+            long key = keyOf(position);
+            if (!mSelectedKeys.contains(key)) {
+                selected.add(key);
+            }
+        }
+        return selected.toArray();
+    }
+
+    /**
+     * 选中的位置, 升序排列
+     */
+    public int[] getSelectedPositions() {
+        if (mSelectedPositions != null) {
+            int[] positions = new int[mSelectedPositions.cardinality()];
+            int index = 0;
+            for (int i = mSelectedPositions.nextSetBit(0); i >= 0; i = mSelectedPositions.nextSetBit(i + 1)) {
+                positions[index++] = i;
+            }
+            return positions;
+        }
+        int count = mAdapter.getItemCount();
+        int[] positions = new int[count];
+        int index = 0;
+        for (int position = 0; position < count; position++) {
+            if (mSelectedKeys.contains(keyOf(position)) != mAllSelected) {
+                positions[index++] = position;
+            }
+        }
+        int[] result = new int[index];
+        System.arraycopy(positions, 0, result, 0, index);
+        return result;
+    }
+
+    /**
+     * 键模式下移除已不在数据中的标识, 全选时移除的是取消选中的标识
+     */
+    public void prune() {
+        if (mSelectedKeys == null || mSelectedKeys.size() == 0) return;
+        LongHashSet existing = new LongHashSet();
+        for (int position = 0, count = mAdapter.getItemCount(); position < count; position++) {
+            long key = keyOf(position);
+            if (mSelectedKeys.contains(key)) {
+                existing.add(key);
+            }
+        }
+        if (existing.size() == mSelectedKeys.size()) return;
+        mSelectedKeys.clear();
+        for (long key : existing.toArray()) {
+            mSelectedKeys.add(key);
+        }
+        dispatchSelectionChanged();
+    }
+
+    /**
+     * 绑定 RecyclerView, 用于滑动选择
+     */
+    public void attach(RecyclerView recyclerView) {
+        detach();
+        mRecyclerView = recyclerView;
+        mDragSelectListener = new DragSelectListener();
+        recyclerView.addOnItemTouchListener(mDragSelectListener);
+    }
+
+    /**
+     * 解除与 RecyclerView 的绑定
+     */
+    public void detach() {
+        if (mRecyclerView != null) {
+            mRecyclerView.removeOnItemTouchListener(mDragSelectListener);
+            mRecyclerView = null;
+            mDragSelectListener = null;
+        }
+    }
+
+    /**
+     * 不再使用时释放, 解除与 RecyclerView 的绑定并注销向 Adapter 注册的观察者
+     * 释放后位置模式的选中状态不再随数据变化平移
+     */
+    public void release() {
+        detach();
+        if (mPositionShifter != null) {
+            mAdapter.unregisterAdapterDataObserver(mPositionShifter);
+            mPositionShifter = null;
+        }
+    }
+
+    /**
+     * 从 position 开始滑动选择, 通常在条目长按时调用, 需要先 attach
+     */
+    public void startDragSelection(int position) {
+        if (mDragSelectListener == null) {
+            throw new IllegalStateException("SelectionTracker.startDragSelection -> call attach first!");
+        }
+        setSelected(position, true);
+        mDragSelectListener.start(position);
+    }
+
+    /**
+     * @return 选中状态是否发生了变化
+     */
+    private boolean setSelectedInternal(int position, boolean selected) {
+        if (mSelectedKeys != null) {
+            long key = keyOf(position);
+            // 全选时记录的是取消选中的标识
+            return selected != mAllSelected ? mSelectedKeys.add(key) : mSelectedKeys.remove(key);
+        }
+        if (mSelectedPositions.get(position) == selected) return false;
+        mSelectedPositions.set(position, selected);
+        return true;
+    }
+
+    private long keyOf(int position) {
+        return mKeyProvider.getKey(mAdapter.getDataSet().get(position));
+    }
+
+    private void notifyRangeChanged(int positionStart, int itemCount) {
+        if (itemCount > 0) {
+            mAdapter.notifyItemRangeChanged(positionStart, itemCount, PAYLOAD_SELECTION);
+        }
+    }
+
+    private void dispatchSelectionChanged() {
+        if (mListener != null) {
+            mListener.onSelectionChanged(getSelectionCount());
+        }
+    }
+
+    /**
+     * 将 RecyclerView 中的位置转为 Adapter 中的位置
+     */
+    private int toDataPosition(int adapterPosition) {
+        if (adapterPosition == RecyclerView.NO_POSITION) return RecyclerView.NO_POSITION;
+        if (mRecyclerView instanceof WrapRecyclerView) {
+            WrapRecyclerAdapter wrapAdapter = ((WrapRecyclerView) mRecyclerView).getWrapAdapter();
+            if (wrapAdapter == null || !wrapAdapter.isPrimitivePosition(adapterPosition)) {
+                return RecyclerView.NO_POSITION;
+            }
+            return adapterPosition - wrapAdapter.getHeaderCount();
+        }
+        return adapterPosition;
+    }
+
+    /**
+     * 提供条目唯一的 long 标识
+     */
+    public interface KeyProvider<T> {
+        long getKey(T item);
+    }
+
+    /**
+     * 选中状态变化的回调
+     */
+    public interface OnSelectionChangedListener {
+        void onSelectionChanged(int selectionCount);
+    }
+
+    /**
+     * 位置模式下, 根据 Adapter 的刷新通知平移选中的位置
+     */
+    private class PositionShifter extends RecyclerView.AdapterDataObserver {
+
+        @Override
+        public void onChanged() {
+            // 无法得知数据如何变化, 清空选中状态
+            if (!mSelectedPositions.isEmpty()) {
+                mSelectedPositions.clear();
+                dispatchSelectionChanged();
+            }
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            int length = mSelectedPositions.length();
+            for (int i = length - 1; i >= positionStart; i--) {
+                mSelectedPositions.set(i + itemCount, mSelectedPositions.get(i));
+            }
+            mSelectedPositions.clear(positionStart, positionStart + itemCount);
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            boolean changed = !mSelectedPositions.get(positionStart, positionStart + itemCount).isEmpty();
+            int length = mSelectedPositions.length();
+            for (int i = positionStart; i < length; i++) {
+                mSelectedPositions.set(i, mSelectedPositions.get(i + itemCount));
+            }
+            if (changed) {
+                dispatchSelectionChanged();
+            }
+        }
+
+        @Override
+        public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+            boolean selected = mSelectedPositions.get(fromPosition);
+            if (fromPosition < toPosition) {
+                for (int i = fromPosition; i < toPosition; i++) {
+                    mSelectedPositions.set(i, mSelectedPositions.get(i + 1));
+                }
+            } else {
+                for (int i = fromPosition; i > toPosition; i--) {
+                    mSelectedPositions.set(i, mSelectedPositions.get(i - 1));
+                }
+            }
+            mSelectedPositions.set(toPosition, selected);
+        }
+    }
+
+    /**
+     * 滑动选择, 手指经过的条目与起点之间的区间为选中状态, 离开区间的条目恢复为未选中
+     */
+    private class DragSelectListener implements RecyclerView.OnItemTouchListener {
+
+        private boolean mActive;
+        private int mAnchorPosition;
+        private int mLastPosition;
+
+        void start(int position) {
+            mActive = true;
+            mAnchorPosition = position;
+            mLastPosition = position;
+        }
+
+        @Override
+        public boolean onInterceptTouchEvent(RecyclerView rv, MotionEvent e) {
+            return mActive;
+        }
+
+        @Override
+        public void onTouchEvent(RecyclerView rv, MotionEvent e) {
+            if (!mActive) return;
+            switch (e.getActionMasked()) {
+                case MotionEvent.ACTION_MOVE: {
+                    View child = rv.findChildViewUnder(e.getX(), e.getY());
+                    int position = child == null ? RecyclerView.NO_POSITION
+                            : toDataPosition(rv.getChildAdapterPosition(child));
+                    if (position != RecyclerView.NO_POSITION && position != mLastPosition) {
+                        update(position);
+                    }
+                    break;
+                }
+                case MotionEvent.ACTION_UP:
+                case MotionEvent.ACTION_CANCEL:
+                    mActive = false;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {
+
+        }
+
+        private void update(int position) {
+            // 1. 离开区间的条目取消选中
+            if (mLastPosition > mAnchorPosition && position < mLastPosition) {
+                setRangeSelected(Math.max(position, mAnchorPosition) + 1, mLastPosition, false);
+            } else if (mLastPosition < mAnchorPosition && position > mLastPosition) {
+                setRangeSelected(mLastPosition, Math.min(position, mAnchorPosition) - 1, false);
+            }
+            // 2. 当前区间的条目选中
+            setRangeSelected(mAnchorPosition, position, true);
+            mLastPosition = position;
+        }
+    }
+
+}
@@ -0,0 +1,373 @@
+package com.sharry.librecyclerview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.View;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 列表数据的磁盘快照, 用于冷启动时立即展示上一次的内容
+ * <p>
+ * 1. 数据变化时, 在后台线程通过用户提供的 {@link ItemCodec} 将数据与滚动位置写入紧凑的二进制文件
+ * 2. 启动时通过内存映射读取文件, {@link #restore()} 同步解码首屏的条目, 其余条目在绑定时按需解码,
+ * 无需解析全部数据即可在第一帧展示内容
+ * 3. 通过 {@link #restoreScrollAnchor} 恢复上一次的滚动位置
+ * <p>
+ * 文件格式: magic | version | count | anchorPosition | anchorOffset | offsets[count + 1] | records
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class SnapshotStore<T> {
+
+    private static final String TAG = SnapshotStore.class.getSimpleName();
+    private static final int MAGIC = 0x53525653;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 5 * 4;
+    private static final long DEFAULT_SAVE_DELAY = 500;
+    private static final int DECODED_CACHE_SIZE = 100;
+    private static final int FIRST_SCREEN_COUNT = 20;
+
+    private final File mFile;
+    private final ItemCodec<T> mCodec;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private final Object mWriteLock = new Object();
+    // 保存的序号, 后台线程池不保证执行顺序, 只写入最新的一次保存
+    private final AtomicInteger mSaveSequence = new AtomicInteger();
+    private long mSaveDelay = DEFAULT_SAVE_DELAY;
+    private int mAnchorPosition = RecyclerView.NO_POSITION;
+    private int mAnchorOffset;
+    // 自动保存绑定的对象
+    private SRecyclerAdapter<T> mAttachedAdapter;
+    private RecyclerView mAttachedRecyclerView;
+    private RecyclerView.AdapterDataObserver mSaveObserver;
+    private boolean mSavePending;
+
+    private final Runnable mSaveRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mSavePending = false;
+            if (mAttachedAdapter != null) {
+                save(mAttachedAdapter, mAttachedRecyclerView);
+            }
+        }
+    };
+
+    public SnapshotStore(File file, ItemCodec<T> codec) {
+        mFile = file;
+        mCodec = codec;
+    }
+
+    /**
+     * 设置数据变化后延迟保存的时间(ms), 短时间内的多次变化只会保存一次
+     */
+    public void setSaveDelay(long saveDelay) {
+        mSaveDelay = Math.max(0, saveDelay);
+    }
+
+    /**
+     * 同步读取快照, 只解析文件头并解码首屏的条目, 其余条目在使用时按需解码
+     *
+     * @return 快照对应的 ItemProvider, 快照不存在或已损坏时返回 null
+     */
+    public ItemProvider<T> restore() {
+        if (!mFile.exists()) return null;
+        RandomAccessFile file = null;
+        try {
+            file = new RandomAccessFile(mFile, "r");
+            FileChannel channel = file.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                Log.w(TAG, "Snapshot " + mFile + " is invalid, ignored.");
+                return null;
+            }
+            int count = buffer.getInt(8);
+            // 使用 long 计算, 避免损坏的 count 溢出后通过校验
+            long dataStart = HEADER_SIZE + (count + 1L) * 4;
+            if (count < 0 || dataStart > buffer.capacity()) {
+                Log.w(TAG, "Snapshot " + mFile + " is truncated, ignored.");
+                return null;
+            }
+            int dataSize = buffer.getInt(HEADER_SIZE + count * 4);
+            if (dataSize < 0 || dataStart + dataSize > buffer.capacity()) {
+                Log.w(TAG, "Snapshot " + mFile + " is truncated, ignored.");
+                return null;
+            }
+            mAnchorPosition = buffer.getInt(12);
+            mAnchorOffset = buffer.getInt(16);
+            MappedItemProvider<T> provider = new MappedItemProvider<>(buffer, count, (int) dataStart, mCodec);
+            // 预先解码首屏的条目
+            int firstPosition = Math.max(0, Math.min(mAnchorPosition, count - 1));
+            for (int i = firstPosition; i < Math.min(count, firstPosition + FIRST_SCREEN_COUNT); i++) {
+                provider.get(i);
+            }
+            return provider;
+        } catch (IOException e) {
+            Log.e(TAG, "Restore snapshot " + mFile + " failed.", e);
+            return null;
+        } catch (RuntimeException e) {
+            // 记录损坏或与当前的编解码器不兼容
+            Log.e(TAG, "Decode snapshot " + mFile + " failed.", e);
+            mAnchorPosition = RecyclerView.NO_POSITION;
+            return null;
+        } finally {
+            // 关闭文件后映射依旧有效
+            closeQuietly(file);
+        }
+    }
+
+    /**
+     * 将上一次保存的滚动位置恢复到 recyclerView, 需要在 restore 之后调用
+     */
+    public void restoreScrollAnchor(RecyclerView recyclerView) {
+        if (mAnchorPosition == RecyclerView.NO_POSITION) return;
+        if (recyclerView.getLayoutManager() instanceof LinearLayoutManager) {
+            int position = mAnchorPosition + getHeaderCount(recyclerView);
+            ((LinearLayoutManager) recyclerView.getLayoutManager()).scrollToPositionWithOffset(position, mAnchorOffset);
+        }
+    }
+
+    /**
+     * 数据变化时自动保存快照, 需要在主线程调用
+     *
+     * @param recyclerView 用于记录滚动位置, 可以为 null
+     */
+    public void attach(SRecyclerAdapter<T> adapter, RecyclerView recyclerView) {
+        detach();
+        mAttachedAdapter = adapter;
+        mAttachedRecyclerView = recyclerView;
+        mSaveObserver = new RecyclerView.AdapterDataObserver() {
+            @Override
+            public void onChanged() {
+                scheduleSave();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount) {
+                scheduleSave();
+            }
+
+            @Override
+            public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+                scheduleSave();
+            }
+
+            @Override
+            public void onItemRangeInserted(int positionStart, int itemCount) {
+                scheduleSave();
+            }
+
+            @Override
+            public void onItemRangeRemoved(int positionStart, int itemCount) {
+                scheduleSave();
+            }
+
+            @Override
+            public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+                scheduleSave();
+            }
+        };
+        adapter.registerAdapterDataObserver(mSaveObserver);
+    }
+
+    /**
+     * 解除自动保存, 尚未执行的保存会立即执行
+     */
+    public void detach() {
+        if (mAttachedAdapter == null) return;
+        if (mSavePending) {
+            mMainHandler.removeCallbacks(mSaveRunnable);
+            mSaveRunnable.run();
+        }
+        mAttachedAdapter.unregisterAdapterDataObserver(mSaveObserver);
+        mAttachedAdapter = null;
+        mAttachedRecyclerView = null;
+        mSaveObserver = null;
+    }
+
+    /**
+     * 保存 Adapter 的数据, 需要在主线程调用
+     * <p>
+     * Adapter 提交过快照时直接使用最新的 {@link DataSnapshot}, 否则拷贝当前数据
+     *
+     * @param recyclerView 用于记录滚动位置, 可以为 null
+     */
+    public void save(SRecyclerAdapter<T> adapter, RecyclerView recyclerView) {
+        DataSnapshot<T> snapshot = adapter.peekSnapshot();
+        save(snapshot != null ? snapshot : adapter.getDataSet(), recyclerView);
+    }
+
+    /**
+     * 保存快照, 需要在主线程调用, 编码与写入在后台线程进行
+     *
+     * @param recyclerView 用于记录滚动位置, 可以为 null
+     */
+    public void save(List<T> items, RecyclerView recyclerView) {
+        // 可变集合需要拷贝一份, 不可变快照可以直接在后台线程读取
+        final List<T> snapshot = items instanceof DataSnapshot ? items : new ArrayList<>(items);
+        int anchorPosition = RecyclerView.NO_POSITION;
+        int anchorOffset = 0;
+        if (recyclerView != null && recyclerView.getLayoutManager() instanceof LinearLayoutManager) {
+            LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+            int firstPosition = layoutManager.findFirstVisibleItemPosition();
+            View firstView = layoutManager.findViewByPosition(firstPosition);
+            if (firstView != null) {
+                anchorPosition = Math.max(0, firstPosition - getHeaderCount(recyclerView));
+                anchorOffset = firstView.getTop() - recyclerView.getPaddingTop();
+            }
+        }
+        final int finalAnchorPosition = anchorPosition;
+        final int finalAnchorOffset = anchorOffset;
+        final int sequence = mSaveSequence.incrementAndGet();
+        AdapterExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (mWriteLock) {
+                    // 已经有更新的保存, 丢弃本次写入, 避免旧的快照覆盖新的快照
+                    if (sequence != mSaveSequence.get()) return;
+                    write(snapshot, finalAnchorPosition, finalAnchorOffset);
+                }
+            }
+        });
+    }
+
+    private void scheduleSave() {
+        mSavePending = true;
+        mMainHandler.removeCallbacks(mSaveRunnable);
+        mMainHandler.postDelayed(mSaveRunnable, mSaveDelay);
+    }
+
+    /**
+     * 编码数据并通过内存映射写入临时文件, 写入完成后替换原文件, 保证快照文件始终完整
+     */
+    private void write(List<T> items, int anchorPosition, int anchorOffset) {
+        File tempFile = new File(mFile.getPath() + ".tmp");
+        RandomAccessFile file = null;
+        try {
+            // 1. 编码所有条目
+            int count = items.size();
+            int[] offsets = new int[count + 1];
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            for (int i = 0; i < count; i++) {
+                mCodec.encode(items.get(i), output);
+                output.flush();
+                offsets[i + 1] = bytes.size();
+            }
+            byte[] records = bytes.toByteArray();
+            // 2. 写入临时文件
+            int fileSize = HEADER_SIZE + offsets.length * 4 + records.length;
+            file = new RandomAccessFile(tempFile, "rw");
+            file.setLength(fileSize);
+            MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(anchorPosition).putInt(anchorOffset);
+            for (int offset : offsets) {
+                buffer.putInt(offset);
+            }
+            buffer.put(records);
+            buffer.force();
+            closeQuietly(file);
+            file = null;
+            // 3. 替换原文件
+            if (!tempFile.renameTo(mFile)) {
+                Log.e(TAG, "Rename snapshot " + tempFile + " to " + mFile + " failed.");
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Write snapshot " + mFile + " failed.", e);
+        } finally {
+            closeQuietly(file);
+        }
+    }
+
+    private static int getHeaderCount(RecyclerView recyclerView) {
+        return recyclerView instanceof WrapRecyclerView ? ((WrapRecyclerView) recyclerView).getHeaderCount() : 0;
+    }
+
+    private static void closeQuietly(RandomAccessFile file) {
+        if (file == null) return;
+        try {
+            file.close();
+        } catch (IOException e) {
+            // ignore
+        }
+    }
+
+    /**
+     * 条目的编解码器
+     */
+    public interface ItemCodec<T> {
+
+        /**
+         * 编码条目, 在后台线程调用
+         */
+        void encode(T item, DataOutput output) throws IOException;
+
+        /**
+         * 解码条目, buffer 的 position 与 limit 为该条目的起止位置
+         */
+        T decode(ByteBuffer buffer);
+    }
+
+    /**
+     * 基于内存映射文件的 ItemProvider, 条目在读取时解码并缓存
+     */
+    private static class MappedItemProvider<T> extends ItemProvider<T> {
+
+        private final ByteBuffer mBuffer;
+        private final int mCount;
+        private final int mDataStart;
+        private final ItemCodec<T> mCodec;
+        private final LruCache<Integer, T> mDecoded = new LruCache<>(DECODED_CACHE_SIZE);
+
+        MappedItemProvider(ByteBuffer buffer, int count, int dataStart, ItemCodec<T> codec) {
+            mBuffer = buffer;
+            mCount = count;
+            mDataStart = dataStart;
+            mCodec = codec;
+        }
+
+        @Override
+        public int getCount() {
+            return mCount;
+        }
+
+        @Override
+        public T get(int position) {
+            T item = mDecoded.get(position);
+            if (item == null) {
+                int start = mBuffer.getInt(HEADER_SIZE + position * 4);
+                int end = mBuffer.getInt(HEADER_SIZE + (position + 1) * 4);
+                if (start < 0 || end < start || (long) mDataStart + end > mBuffer.capacity()) {
+                    Log.w(TAG, "Snapshot record " + position + " is corrupted, ignored.");
+                    return null;
+                }
+                ByteBuffer record = mBuffer.duplicate();
+                record.limit(mDataStart + end);
+                record.position(mDataStart + start);
+                item = mCodec.decode(record);
+                if (item != null) {
+                    mDecoded.put(position, item);
+                }
+            }
+            return item;
+        }
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.util.SortedList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * 有序的数据集, 插入数据时自动维护顺序, 无需每次重新排序整个集合
+ * <p>
+ * 1. 通过二分查找确定插入/更新的位置, 查找为 O(log n), 但插入需要平移其后的数据, 单条插入整体为 O(n),
+ * 只分发一次插入通知; 一次插入多条数据时应使用 {@link #addAll}
+ * 2. 通过 {@link #addAll} 批量插入时, 会将新数据排序后与已有数据一次合并
+ * 3. 通过 {@link #beginBatchedUpdates}/{@link #endBatchedUpdates} 合并多次操作产生的相邻刷新通知
+ * 4. 数据的增删改都需要在主线程进行
+ * <p>
+ * 使用方式:
+ * <pre>
+ * SortedDataSet&lt;Message&gt; dataSet = new SortedDataSet&lt;&gt;(Message.class, comparator);
+ * new MyAdapter(context, dataSet);  // MyAdapter extends SRecyclerAdapter&lt;Message&gt;
+ * dataSet.add(message);
+ * </pre>
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class SortedDataSet<T> extends ItemProvider<T> {
+
+    private final Comparator<? super T> mComparator;
+    private final SortedList<T> mSortedList;
+
+    /**
+     * @param klass      数据的类型
+     * @param comparator 数据的顺序, 返回 0 的两条数据还需要通过 areItemsTheSame 区分
+     */
+    public SortedDataSet(Class<T> klass, Comparator<? super T> comparator) {
+        mComparator = comparator;
+        mSortedList = new SortedList<>(klass, new SortedCallback());
+    }
+
+    @Override
+    public int getCount() {
+        return mSortedList.size();
+    }
+
+    @Override
+    public T get(int position) {
+        return mSortedList.get(position);
+    }
+
+    /**
+     * 插入数据, 已存在相同的数据时会替换并分发变化通知
+     *
+     * @return 数据所在的位置
+     */
+    public int add(T item) {
+        return mSortedList.add(item);
+    }
+
+    /**
+     * 批量插入数据, 新数据排序后与已有数据一次合并
+     */
+    public void addAll(Collection<? extends T> items) {
+        mSortedList.addAll(new ArrayList<T>(items));
+    }
+
+    /**
+     * 替换所有的数据, 只分发变化部分的刷新通知
+     */
+    public void replaceAll(Collection<? extends T> items) {
+        mSortedList.replaceAll(new ArrayList<T>(items));
+    }
+
+    /**
+     * 更新 position 位置的数据, 数据的顺序改变时会移动到新的位置
+     */
+    public void updateItemAt(int position, T item) {
+        mSortedList.updateItemAt(position, item);
+    }
+
+    /**
+     * 移除数据
+     *
+     * @return 数据是否存在
+     */
+    public boolean remove(T item) {
+        return mSortedList.remove(item);
+    }
+
+    /**
+     * 移除 position 位置的数据
+     */
+    public T removeItemAt(int position) {
+        return mSortedList.removeItemAt(position);
+    }
+
+    /**
+     * 查找数据的位置
+     *
+     * @return 不存在时返回 {@link SortedList#INVALID_POSITION}
+     */
+    public int indexOf(T item) {
+        return mSortedList.indexOf(item);
+    }
+
+    public void clear() {
+        mSortedList.clear();
+    }
+
+    /**
+     * 开始批量操作, 期间相邻的刷新通知会被合并
+     */
+    public void beginBatchedUpdates() {
+        mSortedList.beginBatchedUpdates();
+    }
+
+    /**
+     * 结束批量操作, 分发尚未分发的刷新通知
+     */
+    public void endBatchedUpdates() {
+        mSortedList.endBatchedUpdates();
+    }
+
+    /**
+     * 是否为同一条数据, 默认使用 equals
+     */
+    protected boolean areItemsTheSame(T item1, T item2) {
+        return item1 == null ? item2 == null : item1.equals(item2);
+    }
+
+    /**
+     * 同一条数据的内容是否相同, 相同时不会分发变化通知, 默认使用 equals
+     */
+    protected boolean areContentsTheSame(T oldItem, T newItem) {
+        return oldItem == null ? newItem == null : oldItem.equals(newItem);
+    }
+
+    /**
+     * 数据变化时的 payload, 用于局部刷新
+     */
+    protected Object getChangePayload(T oldItem, T newItem) {
+        return null;
+    }
+
+    /**
+     * 将 SortedList 的回调转为 ItemProvider 的刷新通知
+     */
+    private class SortedCallback extends SortedList.Callback<T> {
+
+        @Override
+        public int compare(T o1, T o2) {
+            return mComparator.compare(o1, o2);
+        }
+
+        @Override
+        public boolean areContentsTheSame(T oldItem, T newItem) {
+            return SortedDataSet.this.areContentsTheSame(oldItem, newItem);
+        }
+
+        @Override
+        public boolean areItemsTheSame(T item1, T item2) {
+            return SortedDataSet.this.areItemsTheSame(item1, item2);
+        }
+
+        @Override
+        public Object getChangePayload(T item1, T item2) {
+            return SortedDataSet.this.getChangePayload(item1, item2);
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            notifyItemRangeInserted(position, count);
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            notifyItemRangeRemoved(position, count);
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            notifyItemMoved(fromPosition, toPosition);
+        }
+
+        @Override
+        public void onChanged(int position, int count) {
+            notifyItemRangeChanged(position, count, null);
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            notifyItemRangeChanged(position, count, payload);
+        }
+    }
+
+}
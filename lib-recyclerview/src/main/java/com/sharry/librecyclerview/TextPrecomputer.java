@@ -0,0 +1,229 @@
+package com.sharry.librecyclerview;
+
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.LongSparseArray;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 包级可用
+ * 在后台线程预先计算即将展示的条目的文本布局, 通过 {@link SRecyclerAdapter#setTextPrecomputeEnabled} 开启
+ * <p>
+ * 1. 绑定时根据滑动方向, 为之后的若干个位置收集文本, 在后台线程构建 {@link StaticLayout},
+ * 只读取已在内存中的数据, 不会触发按需加载的数据源加载
+ * 2. 结果按 条目标识 + viewId + 宽度 缓存, 只能通过 {@link SViewHolder#getPrecomputedLayout} 在自定义 View 中直接绘制;
+ * 普通的 TextView 无法接收预先计算的 Layout(PrecomputedText 需要 API 28), setText 仍会在主线程完成测量,
+ * 后台构建布局时测量过的字形可能命中系统的字形缓存, 但收益取决于系统版本, 不做保证
+ * 3. 文本的 Paint 与宽度取自同类型条目上一次在主线程绑定时的 TextView
+ * 4. 按 条目标识 + 内容哈希 记录已经收集过文本的条目, 每个条目只会收集一次, 避免在主线程重复构建文本
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class TextPrecomputer {
+
+    // 每次绑定时向前预计算的条目数量
+    private static final int PRECOMPUTE_AHEAD = 6;
+    private static final int MAX_CACHE_SIZE = 256;
+
+    private final LruCache<TextKey, Layout> mCache = new LruCache<>(MAX_CACHE_SIZE);
+    // viewType + viewId -> 文本参数, 只在主线程访问
+    private final LongSparseArray<TextParams> mParams = new LongSparseArray<>();
+    // 已提交但尚未完成的任务, 只在主线程访问
+    private final Set<TextKey> mPending = new HashSet<>();
+    private final SparseArray<CharSequence> mTexts = new SparseArray<>();
+    // 已经收集过文本的条目标识 -> 内容哈希, 只在主线程访问
+    private final LruCache<Object, Integer> mCollected = new LruCache<>(MAX_CACHE_SIZE);
+    private int mLastBoundPosition = -1;
+    // clear 后递增, 丢弃之前提交的任务的结果
+    private int mGeneration;
+
+    /**
+     * 记录 TextView 的文本参数, 用于之后同类型条目的预计算
+     */
+    void recordParams(int viewType, int viewId, TextView textView) {
+        int width = getTextWidth(textView);
+        if (width <= 0) return;
+        long paramsKey = ((long) viewType << 32) | (viewId & 0xFFFFFFFFL);
+        TextParams params = mParams.get(paramsKey);
+        if (params != null && params.width == width && params.textSize == textView.getTextSize()) return;
+        mParams.put(paramsKey, new TextParams(textView, width));
+        // 宽度或字号变化后需要按新的参数重新计算
+        mCollected.evictAll();
+    }
+
+    /**
+     * 获取预计算的布局, 宽度与文本内容需要与计算时一致
+     */
+    Layout get(Object itemKey, int viewId, TextView textView, CharSequence text) {
+        if (itemKey == null) return null;
+        Layout layout = mCache.get(new TextKey(itemKey, viewId, getTextWidth(textView)));
+        return layout != null && TextUtils.equals(layout.getText(), text) ? layout : null;
+    }
+
+    /**
+     * position 位置绑定完成, 为滑动方向上之后的条目提交预计算
+     */
+    <T> void onBound(SRecyclerAdapter<T> adapter, int position) {
+        int direction = position >= mLastBoundPosition ? 1 : -1;
+        mLastBoundPosition = position;
+        final List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= PRECOMPUTE_AHEAD; i++) {
+            int target = position + direction * i;
+            if (target < 0 || target >= adapter.getItemCount()) break;
+            // 尚未加载的数据跳过, 不为预计算触发加载
+            T data = adapter.peekItem(target);
+            if (data == null) continue;
+            Object itemKey = adapter.getItemKey(data);
+            if (itemKey == null) continue;
+            // 收集文本本身需要在主线程构建富文本, 已经收集过的条目直接跳过
+            int contentHash = adapter.getItemContentHash(data);
+            Integer collectedHash = mCollected.get(itemKey);
+            if (collectedHash != null && collectedHash == contentHash) continue;
+            int viewType = adapter.peekItemViewType(target);
+            if (viewType == ViewTypeCache.INVALID_TYPE) continue;
+            mTexts.clear();
+            adapter.onCollectPrecomputeText(data, target, mTexts);
+            boolean complete = true;
+            for (int j = 0; j < mTexts.size(); j++) {
+                int viewId = mTexts.keyAt(j);
+                CharSequence text = mTexts.valueAt(j);
+                TextParams params = mParams.get(((long) viewType << 32) | (viewId & 0xFFFFFFFFL));
+                if (params == null) {
+                    // 该类型的 TextView 尚未绑定过, 之后再次收集
+                    complete = false;
+                    continue;
+                }
+                if (text == null) continue;
+                TextKey key = new TextKey(itemKey, viewId, params.width);
+                if (mPending.contains(key)) continue;
+                Layout cached = mCache.get(key);
+                if (cached != null && TextUtils.equals(cached.getText(), text)) continue;
+                mPending.add(key);
+                // TextPaint 不是线程安全的, 每个任务使用自己的副本
+                tasks.add(new Task(key, text, new TextPaint(params.paint), params));
+            }
+            if (complete) {
+                mCollected.put(itemKey, contentHash);
+            }
+        }
+        mTexts.clear();
+        if (tasks.isEmpty()) return;
+        final int generation = mGeneration;
+        AdapterExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Task task : tasks) {
+                    task.layout = task.build();
+                }
+                AdapterExecutors.postToMain(new Runnable() {
+                    @Override
+                    public void run() {
+                        // 期间已被清空或关闭
+                        if (generation != mGeneration) return;
+                        for (Task task : tasks) {
+                            mPending.remove(task.key);
+                            mCache.put(task.key, task.layout);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    void clear() {
+        mGeneration++;
+        mCache.evictAll();
+        mParams.clear();
+        mPending.clear();
+        mCollected.evictAll();
+        mLastBoundPosition = -1;
+    }
+
+    private static int getTextWidth(TextView textView) {
+        return textView.getWidth() - textView.getCompoundPaddingLeft() - textView.getCompoundPaddingRight();
+    }
+
+    /**
+     * 同类型条目中 TextView 的文本参数
+     */
+    private static final class TextParams {
+
+        final TextPaint paint;
+        final int width;
+        final float textSize;
+        final float spacingMultiplier;
+        final float spacingExtra;
+        final boolean includePadding;
+
+        TextParams(TextView textView, int width) {
+            this.paint = new TextPaint(textView.getPaint());
+            this.width = width;
+            this.textSize = textView.getTextSize();
+            this.spacingMultiplier = textView.getLineSpacingMultiplier();
+            this.spacingExtra = textView.getLineSpacingExtra();
+            this.includePadding = textView.getIncludeFontPadding();
+        }
+    }
+
+    private static final class Task {
+
+        final TextKey key;
+        final CharSequence text;
+        final TextPaint paint;
+        final TextParams params;
+        Layout layout;
+
+        Task(TextKey key, CharSequence text, TextPaint paint, TextParams params) {
+            this.key = key;
+            this.text = text;
+            this.paint = paint;
+            this.params = params;
+        }
+
+        Layout build() {
+            return new StaticLayout(text, paint, params.width, Layout.Alignment.ALIGN_NORMAL,
+                    params.spacingMultiplier, params.spacingExtra, params.includePadding);
+        }
+    }
+
+    /**
+     * 缓存的 Key: 条目标识 + viewId + 宽度
+     */
+    private static final class TextKey {
+
+        final Object itemKey;
+        final int viewId;
+        final int width;
+
+        TextKey(Object itemKey, int viewId, int width) {
+            this.itemKey = itemKey;
+            this.viewId = viewId;
+            this.width = width;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TextKey)) return false;
+            TextKey other = (TextKey) o;
+            return viewId == other.viewId && width == other.width && itemKey.equals(other.itemKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return (itemKey.hashCode() * 31 + viewId) * 31 + width;
+        }
+    }
+
+}
@@ -0,0 +1,350 @@
+package com.sharry.librecyclerview;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 可展开的树形数据集, 用于评论楼层, 文件夹等层级数据
+ * <p>
+ * 1. 每个节点记录其子树可见的行数, 并通过树状数组维护子节点可见行数的前缀和
+ * 2. 位置到节点的查找, 节点到位置的计算, 展开与收起均为 O(d log k), d 为深度, k 为子节点数量
+ * 3. 每次展开/收起只分发一次区间插入/移除通知, 以及被操作节点的 {@link #PAYLOAD_EXPANSION} 局部刷新
+ * 4. 数据的增删与展开收起都需要在主线程进行
+ * <p>
+ * 使用方式:
+ * <pre>
+ * TreeDataSet&lt;Folder&gt; dataSet = new TreeDataSet&lt;&gt;();
+ * TreeDataSet.Node&lt;Folder&gt; node = dataSet.addChild(null, folder);
+ * new MyAdapter(context, dataSet);  // MyAdapter extends SRecyclerAdapter&lt;TreeDataSet.Node&lt;Folder&gt;&gt;
+ * dataSet.toggle(node);
+ * </pre>
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class TreeDataSet<T> extends ItemProvider<TreeDataSet.Node<T>> {
+
+    /**
+     * 节点展开状态变化时的 payload
+     */
+    public static final Object PAYLOAD_EXPANSION = new Object();
+
+    // 不可见的根节点, 始终为展开状态
+    private final Node<T> mRoot = new Node<>(null, null, 0);
+
+    @Override
+    public int getCount() {
+        return mRoot.mSize;
+    }
+
+    /**
+     * 获取 position 位置的节点
+     */
+    @Override
+    public Node<T> get(int position) {
+        if (position < 0 || position >= mRoot.mSize) {
+            throw new IndexOutOfBoundsException("TreeDataSet.get -> position: " + position + ", count: " + mRoot.mSize);
+        }
+        Node<T> node = mRoot;
+        int target = position;
+        while (true) {
+            // target 为 node 可见子孙中的位置
+            int index = node.findChild(target);
+            Node<T> child = node.mChildren.get(index);
+            target -= node.prefixSum(index);
+            if (target == 0) {
+                return child;
+            }
+            // 跳过子节点自身所在的行
+            target--;
+            node = child;
+        }
+    }
+
+    /**
+     * 获取节点所在的位置
+     *
+     * @return 节点不可见时返回 -1
+     */
+    public int getPosition(Node<T> node) {
+        if (!isVisible(node)) return -1;
+        int position = 0;
+        for (Node<T> current = node; current.mParent != null; current = current.mParent) {
+            Node<T> parent = current.mParent;
+            position += parent.prefixSum(current.mIndex) + parent.selfRows();
+        }
+        return position;
+    }
+
+    /**
+     * 节点是否可见, 即所有祖先节点都已展开
+     */
+    public boolean isVisible(Node<T> node) {
+        for (Node<T> parent = node.mParent; parent != null; parent = parent.mParent) {
+            if (!parent.mExpanded) return false;
+        }
+        return node.mParent != null;
+    }
+
+    /**
+     * 添加子节点
+     *
+     * @param parent 为 null 时添加为顶层节点
+     */
+    public Node<T> addChild(Node<T> parent, T value) {
+        return addChildren(parent, Collections.singletonList(value)).get(0);
+    }
+
+    /**
+     * 在尾部添加一组子节点, 只分发一次插入通知
+     *
+     * @param parent 为 null 时添加为顶层节点
+     */
+    public List<Node<T>> addChildren(Node<T> parent, Collection<? extends T> values) {
+        Node<T> target = parent == null ? mRoot : parent;
+        List<Node<T>> added = new ArrayList<>(values.size());
+        if (values.isEmpty()) return added;
+        int positionStart = target.mChildren.isEmpty() ? -1 : getEndPosition(target);
+        for (T value : values) {
+            Node<T> child = new Node<>(value, target, target.mChildren.size());
+            target.mChildren.add(child);
+            added.add(child);
+        }
+        target.rebuildTree();
+        int delta = values.size();
+        if (target.mExpanded) {
+            target.mSize += delta;
+            propagate(target, delta);
+        }
+        Node<T> first = added.get(0);
+        if (isVisible(first)) {
+            notifyItemRangeInserted(positionStart >= 0 ? positionStart : getPosition(first), delta);
+        } else if (target != mRoot && target.mChildren.size() == delta && isVisible(target)) {
+            // 节点首次拥有子节点, 刷新展开指示
+            notifyItemRangeChanged(getPosition(target), 1, PAYLOAD_EXPANSION);
+        }
+        return added;
+    }
+
+    /**
+     * 移除节点及其子树
+     */
+    public void remove(Node<T> node) {
+        Node<T> parent = node.mParent;
+        if (parent == null) return;
+        int position = getPosition(node);
+        parent.mChildren.remove(node.mIndex);
+        for (int i = node.mIndex; i < parent.mChildren.size(); i++) {
+            parent.mChildren.get(i).mIndex = i;
+        }
+        parent.rebuildTree();
+        node.mParent = null;
+        if (parent.mExpanded) {
+            parent.mSize -= node.mSize;
+            propagate(parent, -node.mSize);
+        }
+        if (position >= 0) {
+            notifyItemRangeRemoved(position, node.mSize);
+        }
+    }
+
+    public void toggle(Node<T> node) {
+        if (node.mExpanded) {
+            collapse(node);
+        } else {
+            expand(node);
+        }
+    }
+
+    /**
+     * 展开节点, 只分发一次区间插入通知
+     */
+    public void expand(Node<T> node) {
+        if (node.mExpanded || node.mIsRoot) return;
+        node.mExpanded = true;
+        int delta = node.totalChildrenSize();
+        node.mSize += delta;
+        propagate(node, delta);
+        int position = getPosition(node);
+        if (position >= 0) {
+            notifyItemRangeChanged(position, 1, PAYLOAD_EXPANSION);
+            if (delta > 0) {
+                notifyItemRangeInserted(position + 1, delta);
+            }
+        }
+    }
+
+    /**
+     * 收起节点, 只分发一次区间移除通知, 子节点的展开状态会被保留
+     */
+    public void collapse(Node<T> node) {
+        if (!node.mExpanded || node.mIsRoot) return;
+        int position = getPosition(node);
+        int delta = node.totalChildrenSize();
+        node.mExpanded = false;
+        node.mSize -= delta;
+        propagate(node, -delta);
+        if (position >= 0) {
+            notifyItemRangeChanged(position, 1, PAYLOAD_EXPANSION);
+            if (delta > 0) {
+                notifyItemRangeRemoved(position + 1, delta);
+            }
+        }
+    }
+
+    /**
+     * 获取顶层节点
+     */
+    public List<Node<T>> getRootNodes() {
+        return Collections.unmodifiableList(mRoot.mChildren);
+    }
+
+    /**
+     * 节点子树之后的位置, 即子节点插入到尾部时的位置
+     */
+    private int getEndPosition(Node<T> node) {
+        if (node.mIsRoot) return node.mSize;
+        int position = getPosition(node);
+        return position < 0 ? -1 : position + node.mSize;
+    }
+
+    /**
+     * 节点可见行数变化后, 向上更新祖先节点, 直到遇到收起的祖先
+     */
+    private static <T> void propagate(Node<T> node, int delta) {
+        if (delta == 0) return;
+        for (Node<T> current = node; current.mParent != null; current = current.mParent) {
+            Node<T> parent = current.mParent;
+            parent.addToChild(current.mIndex, delta);
+            if (!parent.mExpanded) break;
+            parent.mSize += delta;
+        }
+    }
+
+    /**
+     * 树的节点
+     */
+    public static final class Node<T> {
+
+        private final T mValue;
+        // 不可见的根节点, 始终为展开状态
+        private final boolean mIsRoot;
+        private final List<Node<T>> mChildren = new ArrayList<>();
+        private Node<T> mParent;
+        // 在父节点中的索引
+        private int mIndex;
+        private boolean mExpanded;
+        // 子树可见的行数, 包含自身
+        private int mSize = 1;
+        // 子节点可见行数的树状数组, 下标从 1 开始
+        private int[] mTree;
+
+        private Node(T value, Node<T> parent, int index) {
+            mValue = value;
+            mParent = parent;
+            mIndex = index;
+            mIsRoot = parent == null;
+            if (mIsRoot) {
+                mExpanded = true;
+                mSize = 0;
+            }
+        }
+
+        public T getValue() {
+            return mValue;
+        }
+
+        public boolean isExpanded() {
+            return mExpanded;
+        }
+
+        public boolean hasChildren() {
+            return !mChildren.isEmpty();
+        }
+
+        public List<Node<T>> getChildren() {
+            return Collections.unmodifiableList(mChildren);
+        }
+
+        /**
+         * 顶层节点为 null
+         */
+        public Node<T> getParent() {
+            return mParent == null || mParent.mIsRoot ? null : mParent;
+        }
+
+        /**
+         * 节点的深度, 顶层节点为 0
+         */
+        public int getDepth() {
+            int depth = -1;
+            for (Node<T> parent = mParent; parent != null; parent = parent.mParent) {
+                depth++;
+            }
+            return depth;
+        }
+
+        /**
+         * 自身所占的行数, 根节点不可见
+         */
+        int selfRows() {
+            return mIsRoot ? 0 : 1;
+        }
+
+        int totalChildrenSize() {
+            return prefixSum(mChildren.size());
+        }
+
+        /**
+         * 前 count 个子节点的可见行数之和
+         */
+        int prefixSum(int count) {
+            int sum = 0;
+            for (int i = count; i > 0; i -= i & -i) {
+                sum += mTree[i];
+            }
+            return sum;
+        }
+
+        void addToChild(int index, int delta) {
+            for (int i = index + 1; i < mTree.length; i += i & -i) {
+                mTree[i] += delta;
+            }
+        }
+
+        /**
+         * 查找可见子孙中第 target 行所在的子节点, 即前缀和大于 target 的最小索引
+         */
+        int findChild(int target) {
+            int index = 0;
+            int remaining = target;
+            for (int step = Integer.highestOneBit(mTree.length - 1); step > 0; step >>= 1) {
+                int next = index + step;
+                if (next < mTree.length && mTree[next] <= remaining) {
+                    index = next;
+                    remaining -= mTree[next];
+                }
+            }
+            return index;
+        }
+
+        /**
+         * 子节点变化后重建树状数组, O(k)
+         */
+        void rebuildTree() {
+            int count = mChildren.size();
+            mTree = new int[count + 1];
+            for (int i = 1; i <= count; i++) {
+                mTree[i] += mChildren.get(i - 1).mSize;
+                int parent = i + (i & -i);
+                if (parent <= count) {
+                    mTree[parent] += mTree[i];
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.util.ListUpdateCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 包级可用
+ * 记录数据的变更操作, 合并相邻的操作, 在提交时统一分发最少的区间刷新通知
+ * <p>
+ * 每个操作的位置均相对于执行该操作时的数据, 与 {@link ListUpdateCallback} 的语义保持一致
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class UpdateOpBatcher implements ListUpdateCallback {
+
+    private static final int TYPE_INSERT = 1;
+    private static final int TYPE_REMOVE = 2;
+    private static final int TYPE_CHANGE = 3;
+    private static final int TYPE_MOVE = 4;
+
+    private final List<UpdateOp> mOps = new ArrayList<>();
+
+    @Override
+    public void onInserted(int position, int count) {
+        if (count <= 0) return;
+        UpdateOp last = lastOp();
+        // 在刚插入的区间内继续插入, 合并为一次插入
+        if (last != null && last.type == TYPE_INSERT
+                && position >= last.positionStart && position <= last.positionStart + last.itemCount) {
+            last.itemCount += count;
+            return;
+        }
+        mOps.add(new UpdateOp(TYPE_INSERT, position, count, null));
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        if (count <= 0) return;
+        UpdateOp last = lastOp();
+        if (last != null && last.type == TYPE_REMOVE) {
+            // 连续向后删除 或 连续向前删除, 合并为一次删除
+            if (position == last.positionStart) {
+                last.itemCount += count;
+                return;
+            }
+            if (position + count == last.positionStart) {
+                last.positionStart = position;
+                last.itemCount += count;
+                return;
+            }
+        }
+        // 删除的是刚插入的数据, 直接抵消
+        if (last != null && last.type == TYPE_INSERT && position >= last.positionStart
+                && position + count <= last.positionStart + last.itemCount) {
+            last.itemCount -= count;
+            if (last.itemCount == 0) {
+                mOps.remove(mOps.size() - 1);
+            }
+            return;
+        }
+        mOps.add(new UpdateOp(TYPE_REMOVE, position, count, null));
+    }
+
+    @Override
+    public void onMoved(int fromPosition, int toPosition) {
+        if (fromPosition == toPosition) return;
+        mOps.add(new UpdateOp(TYPE_MOVE, fromPosition, 1, toPosition));
+    }
+
+    @Override
+    public void onChanged(int position, int count, Object payload) {
+        if (count <= 0) return;
+        UpdateOp last = lastOp();
+        // 变更的是刚插入的数据, 插入的条目本就会被绑定
+        if (last != null && last.type == TYPE_INSERT && position >= last.positionStart
+                && position + count <= last.positionStart + last.itemCount) {
+            return;
+        }
+        // 相邻或重叠且 payload 相同的变更, 合并为一次变更
+        if (last != null && last.type == TYPE_CHANGE && last.payload == payload
+                && position <= last.positionStart + last.itemCount
+                && position + count >= last.positionStart) {
+            int end = Math.max(last.positionStart + last.itemCount, position + count);
+            last.positionStart = Math.min(last.positionStart, position);
+            last.itemCount = end - last.positionStart;
+            return;
+        }
+        mOps.add(new UpdateOp(TYPE_CHANGE, position, count, payload));
+    }
+
+    /**
+     * 是否有待分发的操作
+     */
+    boolean isEmpty() {
+        return mOps.isEmpty();
+    }
+
+    /**
+     * 分发所有记录的操作并清空
+     */
+    void dispatchTo(ListUpdateCallback callback) {
+        for (UpdateOp op : mOps) {
+            switch (op.type) {
+                case TYPE_INSERT:
+                    callback.onInserted(op.positionStart, op.itemCount);
+                    break;
+                case TYPE_REMOVE:
+                    callback.onRemoved(op.positionStart, op.itemCount);
+                    break;
+                case TYPE_CHANGE:
+                    callback.onChanged(op.positionStart, op.itemCount, op.payload);
+                    break;
+                case TYPE_MOVE:
+                    callback.onMoved(op.positionStart, (Integer) op.payload);
+                    break;
+                default:
+                    break;
+            }
+        }
+        mOps.clear();
+    }
+
+    private UpdateOp lastOp() {
+        return mOps.isEmpty() ? null : mOps.get(mOps.size() - 1);
+    }
+
+    /**
+     * 一次数据变更操作
+     */
+    private static class UpdateOp {
+
+        final int type;
+        int positionStart;
+        int itemCount;
+        // TYPE_CHANGE 时为 payload, TYPE_MOVE 时为目标位置
+        final Object payload;
+
+        UpdateOp(int type, int positionStart, int itemCount, Object payload) {
+            this.type = type;
+            this.positionStart = positionStart;
+            this.itemCount = itemCount;
+            this.payload = payload;
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.widget.RecyclerView;
+
+import java.util.Arrays;
+
+/**
+ * 包级可用
+ * 缓存每个位置的 viewType, 避免 RecyclerView 布局和预取时反复执行用户的 getLayoutResId
+ * <p>
+ * 作为 Adapter 自身的观察者, 根据区间通知精确的平移或失效缓存, 失效的位置在下次读取时重新计算
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+final class ViewTypeCache extends RecyclerView.AdapterDataObserver {
+
+    static final int INVALID_TYPE = Integer.MIN_VALUE;
+
+    private int[] mTypes = new int[0];
+    // 有效的长度, 与 Adapter 的条目数量保持一致
+    private int mSize;
+
+    /**
+     * 获取缓存的 viewType, 未缓存时返回 {@link #INVALID_TYPE}
+     */
+    int get(int position) {
+        return position < mSize ? mTypes[position] : INVALID_TYPE;
+    }
+
+    /**
+     * 缓存 position 的 viewType
+     */
+    void put(int position, int viewType, int itemCount) {
+        if (mSize > itemCount) {
+            // 数据变更未被通知, 丢弃多余的缓存
+            mSize = itemCount;
+        } else if (mSize < itemCount) {
+            ensureCapacity(itemCount);
+            Arrays.fill(mTypes, mSize, itemCount, INVALID_TYPE);
+            mSize = itemCount;
+        }
+        if (position < mSize) {
+            mTypes[position] = viewType;
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    void clear() {
+        mSize = 0;
+    }
+
+    @Override
+    public void onChanged() {
+        clear();
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount) {
+        invalidate(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
+        invalidate(positionStart, itemCount);
+    }
+
+    @Override
+    public void onItemRangeInserted(int positionStart, int itemCount) {
+        if (positionStart > mSize) return;
+        ensureCapacity(mSize + itemCount);
+        // 插入位置之后的缓存向后平移
+        System.arraycopy(mTypes, positionStart, mTypes, positionStart + itemCount, mSize - positionStart);
+        Arrays.fill(mTypes, positionStart, positionStart + itemCount, INVALID_TYPE);
+        mSize += itemCount;
+    }
+
+    @Override
+    public void onItemRangeRemoved(int positionStart, int itemCount) {
+        if (positionStart >= mSize) return;
+        int end = Math.min(positionStart + itemCount, mSize);
+        // 删除位置之后的缓存向前平移
+        System.arraycopy(mTypes, end, mTypes, positionStart, mSize - end);
+        mSize -= end - positionStart;
+    }
+
+    @Override
+    public void onItemRangeMoved(int fromPosition, int toPosition, int itemCount) {
+        if (fromPosition >= mSize || toPosition >= mSize || itemCount != 1) {
+            clear();
+            return;
+        }
+        int viewType = mTypes[fromPosition];
+        if (fromPosition < toPosition) {
+            System.arraycopy(mTypes, fromPosition + 1, mTypes, fromPosition, toPosition - fromPosition);
+        } else {
+            System.arraycopy(mTypes, toPosition, mTypes, toPosition + 1, fromPosition - toPosition);
+        }
+        mTypes[toPosition] = viewType;
+    }
+
+    private void invalidate(int positionStart, int itemCount) {
+        if (positionStart >= mSize) return;
+        Arrays.fill(mTypes, positionStart, Math.min(positionStart + itemCount, mSize), INVALID_TYPE);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (mTypes.length < capacity) {
+            mTypes = Arrays.copyOf(mTypes, Math.max(capacity, mTypes.length * 2));
+        }
+    }
+
+}
@@ -8,6 +8,9 @@ import android.util.SparseArray;
 import android.view.View;
 import android.view.ViewGroup;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * 包级可用
  * 1. 采用装饰设计模式
@@ -25,13 +28,25 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     // 基本的底部类型开始位置, 充当 mFooterViews 的key
     private int mKeyFooter = 2000;
 
-    // 相关的页眉/页脚/空视图
-    private SparseArray<View> mHeaderViews;
-    private SparseArray<View> mFooterViews;
+    // 相关的页眉/页脚/空视图, 页眉/页脚为 View 或 HeaderFooterCreator
+    private SparseArray<Object> mHeaderViews;
+    private SparseArray<Object> mFooterViews;
     private View mEmptyDataView;
 
     // 原始的 Adapter
     private RecyclerView.Adapter mPrimitiveAdapter;
+    // 绑定的 RecyclerView 数量, 只有绑定期间才监听原始 Adapter
+    private int mAttachedCount;
+    private boolean mObserverRegistered;
+    // 页眉/页脚批量修改的嵌套深度, 以及期间是否发生了修改
+    private int mBatchDepth;
+    private boolean mBatchChanged;
+
+    // 调试模式下统计正在监听原始 Adapter 的实例数量, 用于发现未释放的 Adapter
+    private static volatile boolean sDebugEnabled;
+    private static final AtomicInteger sLiveCount = new AtomicInteger();
+    // 延迟创建的页眉/页脚在缓存池中最多保留的数量
+    private static final int CREATOR_MAX_RECYCLED_VIEWS = 1;
 
     // 创建代理观察者
     private RecyclerView.AdapterDataObserver mDataObserver = new RecyclerView.AdapterDataObserver() {
@@ -48,7 +63,7 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         public void onItemRangeRemoved(int positionStart, int itemCount) {
             if (mPrimitiveAdapter == null) return;
             if (!(mPrimitiveAdapter instanceof WrapRecyclerAdapter)) {
-                notifyItemRemoved(positionStart + mHeaderViews.size());
+                notifyItemRangeRemoved(positionStart + mHeaderViews.size(), itemCount);
             }
             onItemDataChangedInternal();
         }
@@ -66,7 +81,7 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         public void onItemRangeChanged(int positionStart, int itemCount) {
             if (mPrimitiveAdapter == null) return;
             if (!(mPrimitiveAdapter instanceof WrapRecyclerAdapter)) {
-                notifyItemChanged(positionStart + mHeaderViews.size());
+                notifyItemRangeChanged(positionStart + mHeaderViews.size(), itemCount);
             }
             onItemDataChangedInternal();
         }
@@ -75,7 +90,7 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         public void onItemRangeChanged(int positionStart, int itemCount, Object payload) {
             if (mPrimitiveAdapter == null) return;
             if (!(mPrimitiveAdapter instanceof WrapRecyclerAdapter)) {
-                notifyItemChanged(positionStart + mHeaderViews.size(), payload);
+                notifyItemRangeChanged(positionStart + mHeaderViews.size(), itemCount, payload);
             }
             onItemDataChangedInternal();
         }
@@ -84,7 +99,7 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         public void onItemRangeInserted(int positionStart, int itemCount) {
             if (mPrimitiveAdapter == null) return;
             if (!(mPrimitiveAdapter instanceof WrapRecyclerAdapter)) {
-                notifyItemInserted(positionStart + mHeaderViews.size());
+                notifyItemRangeInserted(positionStart + mHeaderViews.size(), itemCount);
             }
             onItemDataChangedInternal();
         }
@@ -94,8 +109,25 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         mHeaderViews = new SparseArray<>();
         mFooterViews = new SparseArray<>();
         mPrimitiveAdapter = adapter;
-        // 注册mAdapter状态变化的监听器, 统一由本类代理去实现
-        mPrimitiveAdapter.registerAdapterDataObserver(mDataObserver);
+    }
+
+    @Override
+    public void onAttachedToRecyclerView(@NonNull RecyclerView recyclerView) {
+        if (mAttachedCount++ == 0) {
+            // 注册mAdapter状态变化的监听器, 统一由本类代理去实现
+            registerAdapterDataObserver();
+            // 未绑定期间的数据变化不会被监听, 重新同步空数据视图
+            onItemDataChangedInternal();
+        }
+        mPrimitiveAdapter.onAttachedToRecyclerView(recyclerView);
+    }
+
+    @Override
+    public void onDetachedFromRecyclerView(@NonNull RecyclerView recyclerView) {
+        mPrimitiveAdapter.onDetachedFromRecyclerView(recyclerView);
+        if (mAttachedCount > 0 && --mAttachedCount == 0) {
+            unregisterAdapterDataObserver();
+        }
     }
 
     @Override
@@ -114,16 +146,27 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         return mPrimitiveAdapter.getItemViewType(position);
     }
 
+    /**
+     * 获取 viewType 但不触发原始 Adapter 的数据加载
+     *
+     * @see SRecyclerAdapter#peekItemViewType
+     */
+    int peekItemViewType(int position) {
+        if (isHeaderPosition(position) || isFooterPosition(position)
+                || !(mPrimitiveAdapter instanceof SRecyclerAdapter)) {
+            return getItemViewType(position);
+        }
+        return ((SRecyclerAdapter) mPrimitiveAdapter).peekItemViewType(position - mHeaderViews.size());
+    }
+
     @NonNull
     @Override
     public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         // 从getItemViewType中可知头部和底部返回的viewType就是Map的key
         if (mHeaderViews.indexOfKey(viewType) >= 0) {
-            View headerView = mHeaderViews.get(viewType);
-            return createHeaderFooterViewHolder(headerView);
+            return createHeaderFooterViewHolder(parent, mHeaderViews.get(viewType));
         } else if (mFooterViews.indexOfKey(viewType) >= 0) {
-            View footerView = mFooterViews.get(viewType);
-            return createHeaderFooterViewHolder(footerView);
+            return createHeaderFooterViewHolder(parent, mFooterViews.get(viewType));
         } else {
             return mPrimitiveAdapter.onCreateViewHolder(parent, viewType);
         }
@@ -133,6 +176,7 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
         if (isHeaderPosition(holder.getAdapterPosition())
                 || isFooterPosition(holder.getAdapterPosition())) {
+            bindHeaderFooterViewHolder(holder);
             return;
         }
         // 计算一下位置
@@ -140,6 +184,44 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         mPrimitiveAdapter.onBindViewHolder(holder, position);
     }
 
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (isHeaderPosition(holder.getAdapterPosition())
+                || isFooterPosition(holder.getAdapterPosition())) {
+            bindHeaderFooterViewHolder(holder);
+            return;
+        }
+        // 携带 payload 的局部刷新交给原始 Adapter 处理
+        position = holder.getAdapterPosition() - mHeaderViews.size();
+        mPrimitiveAdapter.onBindViewHolder(holder, position, payloads);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull RecyclerView.ViewHolder holder) {
+        if (holder instanceof HeaderFooterViewHolder) {
+            HeaderFooterCreator creator = ((HeaderFooterViewHolder) holder).creator;
+            if (creator != null) {
+                creator.onReleaseView(holder.itemView);
+            }
+        } else {
+            mPrimitiveAdapter.onViewRecycled(holder);
+        }
+    }
+
+    @Override
+    public void onViewAttachedToWindow(@NonNull RecyclerView.ViewHolder holder) {
+        if (!(holder instanceof HeaderFooterViewHolder)) {
+            mPrimitiveAdapter.onViewAttachedToWindow(holder);
+        }
+    }
+
+    @Override
+    public void onViewDetachedFromWindow(@NonNull RecyclerView.ViewHolder holder) {
+        if (!(holder instanceof HeaderFooterViewHolder)) {
+            mPrimitiveAdapter.onViewDetachedFromWindow(holder);
+        }
+    }
+
     @Override
     public int getItemCount() {
         // 条数三者相加 = 底部条数 + 头部条数 + Adapter的条数
@@ -150,44 +232,121 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
      * 添加头部
      */
     public void addHeaderView(View view) {
-        int index = mHeaderViews.indexOfValue(view);
-        // 判断该HeaderView是否已经被添加过
-        if (index == -1) {
-            mHeaderViews.put(mKeyHeader++, view);
-        }
-        notifyDataSetChanged();
+        addHeader(view);
     }
 
     /**
      * 添加底部
      */
     public void addFooterView(View view) {
-        int index = mFooterViews.indexOfValue(view);
-        // 判断该FooterView是否已经被添加过
-        if (index == -1) {
-            mFooterViews.put(mKeyFooter++, view);
-        }
-        notifyDataSetChanged();
+        addFooter(view);
     }
 
     /**
      * 移除头部
      */
     public void removeHeaderView(View view) {
-        int index = mHeaderViews.indexOfValue(view);
-        if (index == -1) return;
-        mHeaderViews.removeAt(index);
-        notifyDataSetChanged();
+        removeHeader(view);
     }
 
     /**
      * 移除底部
      */
     public void removeFooterView(View view) {
-        int index = mFooterViews.indexOfValue(view);
+        removeFooter(view);
+    }
+
+    /**
+     * 添加延迟创建的头部
+     */
+    public void addHeaderCreator(HeaderFooterCreator creator) {
+        addHeader(creator);
+    }
+
+    /**
+     * 添加延迟创建的底部
+     */
+    public void addFooterCreator(HeaderFooterCreator creator) {
+        addFooter(creator);
+    }
+
+    public void removeHeaderCreator(HeaderFooterCreator creator) {
+        removeHeader(creator);
+    }
+
+    public void removeFooterCreator(HeaderFooterCreator creator) {
+        removeFooter(creator);
+    }
+
+    /**
+     * 释放缓存中延迟创建的页眉/页脚, 在内存紧张时调用
+     * <p>
+     * 先将 RecyclerView 的离屏缓存回收到缓存池, 再清空缓存池中对应类型的 ViewHolder
+     */
+    void releaseCreatorViews(WrapRecyclerView recyclerView) {
+        RecyclerView.RecycledViewPool pool = recyclerView.getRecycledViewPool();
+        recyclerView.flushItemViewCache();
+        releaseCreatorViews(pool, mHeaderViews);
+        releaseCreatorViews(pool, mFooterViews);
+    }
+
+    private static void releaseCreatorViews(RecyclerView.RecycledViewPool pool, SparseArray<Object> items) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.valueAt(i) instanceof HeaderFooterCreator) {
+                int viewType = items.keyAt(i);
+                pool.setMaxRecycledViews(viewType, 0);
+                pool.setMaxRecycledViews(viewType, CREATOR_MAX_RECYCLED_VIEWS);
+            }
+        }
+    }
+
+    private void addHeader(Object item) {
+        // 判断该Header是否已经被添加过
+        if (item == null || mHeaderViews.indexOfValue(item) != -1) return;
+        mHeaderViews.put(mKeyHeader++, item);
+        dispatchInserted(mHeaderViews.size() - 1);
+    }
+
+    private void addFooter(Object item) {
+        // 判断该Footer是否已经被添加过
+        if (item == null || mFooterViews.indexOfValue(item) != -1) return;
+        mFooterViews.put(mKeyFooter++, item);
+        dispatchInserted(mHeaderViews.size() + mPrimitiveAdapter.getItemCount() + mFooterViews.size() - 1);
+    }
+
+    private void removeHeader(Object item) {
+        int index = item == null ? -1 : mHeaderViews.indexOfValue(item);
+        if (index == -1) return;
+        mHeaderViews.removeAt(index);
+        dispatchRemoved(index);
+    }
+
+    private void removeFooter(Object item) {
+        int index = item == null ? -1 : mFooterViews.indexOfValue(item);
         if (index == -1) return;
         mFooterViews.removeAt(index);
-        notifyDataSetChanged();
+        dispatchRemoved(mHeaderViews.size() + mPrimitiveAdapter.getItemCount() + index);
+    }
+
+    /**
+     * 开始批量修改页眉/页脚/空视图, 期间的修改不会分发刷新通知
+     */
+    public void beginBatch() {
+        mBatchDepth++;
+    }
+
+    /**
+     * 结束批量修改, 若期间发生了修改则只刷新一次
+     */
+    public void endBatch() {
+        if (mBatchDepth == 0 || --mBatchDepth > 0) return;
+        if (mBatchChanged) {
+            mBatchChanged = false;
+            // 尚未绑定到 RecyclerView 时, 绑定后会完整布局, 无需通知
+            if (hasObservers()) {
+                notifyDataSetChanged();
+            }
+        }
     }
 
     /**
@@ -202,6 +361,43 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
         onItemDataChangedInternal();
     }
 
+    /**
+     * 获取头部数量, 包含空数据视图
+     */
+    int getHeaderCount() {
+        return mHeaderViews.size();
+    }
+
+    /**
+     * 是否为原始 Adapter 的条目位置
+     */
+    boolean isPrimitivePosition(int position) {
+        return position >= 0 && !isHeaderPosition(position) && !isFooterPosition(position);
+    }
+
+    /**
+     * 获取原始的 Adapter
+     */
+    RecyclerView.Adapter getPrimitiveAdapter() {
+        return mPrimitiveAdapter;
+    }
+
+    private void dispatchInserted(int position) {
+        if (mBatchDepth > 0) {
+            mBatchChanged = true;
+        } else {
+            notifyItemInserted(position);
+        }
+    }
+
+    private void dispatchRemoved(int position) {
+        if (mBatchDepth > 0) {
+            mBatchChanged = true;
+        } else {
+            notifyItemRemoved(position);
+        }
+    }
+
     /**
      * 是不是头部位置
      */
@@ -220,10 +416,24 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     /**
      * 获取用于建页眉和页脚的 ViewHolder
      */
-    private RecyclerView.ViewHolder createHeaderFooterViewHolder(View view) {
-        return new RecyclerView.ViewHolder(view) {
+    private RecyclerView.ViewHolder createHeaderFooterViewHolder(ViewGroup parent, Object item) {
+        if (item instanceof HeaderFooterCreator) {
+            HeaderFooterCreator creator = (HeaderFooterCreator) item;
+            return new HeaderFooterViewHolder(creator.onCreateView(parent.getContext(), parent), creator);
+        }
+        return new HeaderFooterViewHolder((View) item, null);
+    }
 
-        };
+    /**
+     * 绑定延迟创建的页眉/页脚
+     */
+    private void bindHeaderFooterViewHolder(RecyclerView.ViewHolder holder) {
+        if (holder instanceof HeaderFooterViewHolder) {
+            HeaderFooterCreator creator = ((HeaderFooterViewHolder) holder).creator;
+            if (creator != null) {
+                creator.onBindView(holder.itemView);
+            }
+        }
     }
 
     /**
@@ -257,14 +467,61 @@ class WrapRecyclerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
     }
 
     /**
-     * 解注册监听器
+     * 注册原始 Adapter 的监听器
+     */
+    private void registerAdapterDataObserver() {
+        if (mObserverRegistered) return;
+        mPrimitiveAdapter.registerAdapterDataObserver(mDataObserver);
+        mObserverRegistered = true;
+        int liveCount = sLiveCount.incrementAndGet();
+        if (sDebugEnabled) {
+            Log.d(TAG, "Observer registered, live adapters: " + liveCount);
+        }
+    }
+
+    /**
+     * 解注册原始 Adapter 的监听器
      */
     public void unregisterAdapterDataObserver() {
+        if (!mObserverRegistered) return;
         try {
-            unregisterAdapterDataObserver(mDataObserver);
+            mPrimitiveAdapter.unregisterAdapterDataObserver(mDataObserver);
         } catch (Exception e) {
             Log.e(TAG, "unregisterAdapterDataObserver failed.", e);
         }
+        mObserverRegistered = false;
+        int liveCount = sLiveCount.decrementAndGet();
+        if (sDebugEnabled) {
+            Log.d(TAG, "Observer unregistered, live adapters: " + liveCount);
+        }
+    }
+
+    /**
+     * 调试模式下输出正在监听原始 Adapter 的实例数量
+     */
+    static void setDebugEnabled(boolean enabled) {
+        sDebugEnabled = enabled;
+    }
+
+    /**
+     * 正在监听原始 Adapter 的实例数量, 正常情况下与显示中的 RecyclerView 数量一致
+     */
+    static int getLiveCount() {
+        return sLiveCount.get();
+    }
+
+    /**
+     * 页眉/页脚的 ViewHolder
+     */
+    static class HeaderFooterViewHolder extends RecyclerView.ViewHolder {
+
+        // 直接添加的 View 为 null
+        final HeaderFooterCreator creator;
+
+        HeaderFooterViewHolder(View itemView, HeaderFooterCreator creator) {
+            super(itemView);
+            this.creator = creator;
+        }
     }
 
 }
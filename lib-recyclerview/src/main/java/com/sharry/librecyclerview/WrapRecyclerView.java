@@ -1,6 +1,8 @@
 package com.sharry.librecyclerview;
 
+import android.content.ComponentCallbacks2;
 import android.content.Context;
+import android.content.res.Configuration;
 import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 import android.util.AttributeSet;
@@ -12,6 +14,7 @@ import java.util.List;
 /**
  * 1. 添加Header和Footer
  * 2. 添加空数据显示的View
+ * 3. 通过 {@link HeaderFooterCreator} 添加延迟创建的Header和Footer, 内存紧张时释放缓存中的 View
  *
  * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
  * @version 1.0
@@ -22,9 +25,34 @@ class WrapRecyclerView extends RecyclerView {
     private Adapter mOriginAdapter;
     private WrapRecyclerAdapter mWrapAdapter;
     private View mEmptyView;
-    private List<View> mHeaderViews = new ArrayList<>();
-    private List<View> mFooterViews = new ArrayList<>();
+    // 页眉/页脚为 View 或 HeaderFooterCreator
+    private List<Object> mHeaderViews = new ArrayList<>();
+    private List<Object> mFooterViews = new ArrayList<>();
     private boolean mIsAdjustSpanSize;
+    // 快速滚动条
+    private SFastScroller mFastScroller;
+    // 离屏缓存的大小, 释放延迟创建的页眉/页脚后恢复
+    private int mItemViewCacheSize = DEFAULT_ITEM_VIEW_CACHE_SIZE;
+    private static final int DEFAULT_ITEM_VIEW_CACHE_SIZE = 2;
+
+    // 内存紧张时释放延迟创建的页眉/页脚
+    private final ComponentCallbacks2 mTrimMemoryCallback = new ComponentCallbacks2() {
+        @Override
+        public void onTrimMemory(int level) {
+            if (level >= TRIM_MEMORY_RUNNING_LOW) {
+                releaseCreatorViews();
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            releaseCreatorViews();
+        }
+    };
 
     public WrapRecyclerView(Context context) {
         super(context);
@@ -45,31 +73,66 @@ class WrapRecyclerView extends RecyclerView {
 
     @Override
     public void setAdapter(Adapter adapter) {
-        // 解决多次setAdapter的问题
+        // 解决多次setAdapter的问题, 旧的 Adapter 解绑时也会解注册, 这里确保立即停止监听
         if (mWrapAdapter != null) {
             mWrapAdapter.unregisterAdapterDataObserver();
             mWrapAdapter = null;
         }
+        if (adapter == null) {
+            mOriginAdapter = null;
+            super.setAdapter(null);
+            return;
+        }
         mWrapAdapter = new WrapRecyclerAdapter(adapter);
         // 解决GridLayout添加头部和底部也要占据一行
         mWrapAdapter.adjustSpanSize(this, mIsAdjustSpanSize);
+        // 批量添加, 此时尚未绑定, 不会分发任何刷新通知
+        mWrapAdapter.beginBatch();
         // 添加空数据展示的 View
         if (mEmptyView != null) {
             mWrapAdapter.addEmptyDataView(mEmptyView);
         }
         // 添加页眉
-        for (View headerView : mHeaderViews) {
-            mWrapAdapter.addHeaderView(headerView);
+        for (Object header : mHeaderViews) {
+            if (header instanceof HeaderFooterCreator) {
+                mWrapAdapter.addHeaderCreator((HeaderFooterCreator) header);
+            } else {
+                mWrapAdapter.addHeaderView((View) header);
+            }
         }
         // 添加页脚
-        for (View footerView : mFooterViews) {
-            mWrapAdapter.addFooterView(footerView);
+        for (Object footer : mFooterViews) {
+            if (footer instanceof HeaderFooterCreator) {
+                mWrapAdapter.addFooterCreator((HeaderFooterCreator) footer);
+            } else {
+                mWrapAdapter.addFooterView((View) footer);
+            }
         }
+        mWrapAdapter.endBatch();
         // 保存原先的 Adapter
         mOriginAdapter = adapter;
         super.setAdapter(mWrapAdapter);
     }
 
+    /**
+     * 批量修改页眉/页脚/空视图/刷新与加载 View, 所有修改只刷新一次
+     * <p>
+     * 未处于批量修改时, 单个的添加/移除只会分发对应位置的插入/移除通知
+     */
+    public void batchHeaderFooter(Runnable action) {
+        WrapRecyclerAdapter wrapAdapter = mWrapAdapter;
+        if (wrapAdapter != null) {
+            wrapAdapter.beginBatch();
+        }
+        try {
+            action.run();
+        } finally {
+            if (wrapAdapter != null) {
+                wrapAdapter.endBatch();
+            }
+        }
+    }
+
     /**
      * 添加页眉
      */
@@ -110,6 +173,100 @@ class WrapRecyclerView extends RecyclerView {
         }
     }
 
+    /**
+     * 添加延迟创建的页眉, View 在第一次展示时才会创建
+     */
+    public void addHeaderCreator(HeaderFooterCreator creator) {
+        if (creator == null || mHeaderViews.contains(creator)) return;
+        mHeaderViews.add(creator);
+        if (mWrapAdapter != null) {
+            mWrapAdapter.addHeaderCreator(creator);
+        }
+    }
+
+    /**
+     * 移除延迟创建的页眉
+     */
+    public void removeHeaderCreator(HeaderFooterCreator creator) {
+        mHeaderViews.remove(creator);
+        if (mWrapAdapter != null) {
+            mWrapAdapter.removeHeaderCreator(creator);
+        }
+    }
+
+    /**
+     * 添加延迟创建的页脚, View 在第一次展示时才会创建
+     */
+    public void addFooterCreator(HeaderFooterCreator creator) {
+        if (creator == null || mFooterViews.contains(creator)) return;
+        mFooterViews.add(creator);
+        if (mWrapAdapter != null) {
+            mWrapAdapter.addFooterCreator(creator);
+        }
+    }
+
+    /**
+     * 移除延迟创建的页脚
+     */
+    public void removeFooterCreator(HeaderFooterCreator creator) {
+        mFooterViews.remove(creator);
+        if (mWrapAdapter != null) {
+            mWrapAdapter.removeFooterCreator(creator);
+        }
+    }
+
+    /**
+     * 释放已经滚出屏幕的延迟创建的页眉/页脚, 再次展示时会重新创建
+     * <p>
+     * 内存紧张时会自动调用
+     */
+    public void releaseCreatorViews() {
+        if (mWrapAdapter != null) {
+            mWrapAdapter.releaseCreatorViews(this);
+        }
+    }
+
+    @Override
+    public void setItemViewCacheSize(int size) {
+        mItemViewCacheSize = size;
+        super.setItemViewCacheSize(size);
+    }
+
+    /**
+     * 将离屏缓存中的 ViewHolder 全部回收到缓存池
+     */
+    void flushItemViewCache() {
+        super.setItemViewCacheSize(0);
+        super.setItemViewCacheSize(mItemViewCacheSize);
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        getContext().getApplicationContext().registerComponentCallbacks(mTrimMemoryCallback);
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        getContext().getApplicationContext().unregisterComponentCallbacks(mTrimMemoryCallback);
+    }
+
+    /**
+     * 设置快速滚动条
+     *
+     * @param fastScroller 为 null 时移除
+     */
+    public void setFastScroller(SFastScroller fastScroller) {
+        if (mFastScroller != null) {
+            mFastScroller.attachToRecyclerView(null);
+        }
+        mFastScroller = fastScroller;
+        if (mFastScroller != null) {
+            mFastScroller.attachToRecyclerView(this);
+        }
+    }
+
     /**
      * 设置页眉页脚是否占用 GridLayout 的一行
      */
@@ -150,4 +307,11 @@ class WrapRecyclerView extends RecyclerView {
     public int getFooterCount() {
         return mFooterViews.size();
     }
+
+    /**
+     * 获取包装后的 Adapter
+     */
+    WrapRecyclerAdapter getWrapAdapter() {
+        return mWrapAdapter;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,148 @@
+package com.sharry.librecyclerview;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link DataSnapshot} 的单元测试
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class DataSnapshotTest {
+
+    @Test
+    public void copyOf_keepsOrder() {
+        List<Integer> source = range(0, 500);
+        DataSnapshot<Integer> snapshot = DataSnapshot.copyOf(source);
+        assertEquals(source, snapshot);
+        assertEquals(500, snapshot.size());
+    }
+
+    @Test
+    public void copyOf_reusesSnapshot() {
+        DataSnapshot<Integer> snapshot = DataSnapshot.copyOf(range(0, 10));
+        assertSame(snapshot, DataSnapshot.copyOf(snapshot));
+    }
+
+    @Test
+    public void copyOf_emptyReturnsEmpty() {
+        assertSame(DataSnapshot.empty(), DataSnapshot.copyOf(Collections.<Integer>emptyList()));
+        assertSame(DataSnapshot.empty(), DataSnapshot.copyOf(null));
+    }
+
+    @Test
+    public void modification_leavesOriginalUntouched() {
+        List<Integer> source = range(0, 300);
+        DataSnapshot<Integer> snapshot = DataSnapshot.copyOf(source);
+        snapshot.append(-1);
+        snapshot.insert(0, -2);
+        snapshot.removeItems(100, 50);
+        snapshot.replace(299, -3);
+        snapshot.move(0, 299);
+        assertEquals(source, snapshot);
+    }
+
+    @Test
+    public void operations_matchArrayList() {
+        Random random = new Random(26);
+        List<Integer> expected = new ArrayList<>();
+        DataSnapshot<Integer> snapshot = DataSnapshot.empty();
+        for (int step = 0; step < 5000; step++) {
+            int size = expected.size();
+            switch (random.nextInt(6)) {
+                case 0:
+                    expected.add(step);
+                    snapshot = snapshot.append(step);
+                    break;
+                case 1: {
+                    int index = random.nextInt(size + 1);
+                    expected.add(index, step);
+                    snapshot = snapshot.insert(index, step);
+                    break;
+                }
+                case 2: {
+                    int index = random.nextInt(size + 1);
+                    List<Integer> items = range(step * 1000, step * 1000 + random.nextInt(200));
+                    expected.addAll(index, items);
+                    snapshot = snapshot.insertAll(index, items);
+                    break;
+                }
+                case 3: {
+                    if (size == 0) break;
+                    int start = random.nextInt(size);
+                    int count = random.nextInt(Math.min(size - start, 150) + 1);
+                    expected.subList(start, start + count).clear();
+                    snapshot = snapshot.removeItems(start, count);
+                    break;
+                }
+                case 4: {
+                    if (size == 0) break;
+                    int index = random.nextInt(size);
+                    expected.set(index, -step);
+                    snapshot = snapshot.replace(index, -step);
+                    break;
+                }
+                default: {
+                    if (size == 0) break;
+                    int from = random.nextInt(size);
+                    int to = random.nextInt(size);
+                    expected.add(to, expected.remove(from));
+                    snapshot = snapshot.move(from, to);
+                    break;
+                }
+            }
+            assertEquals(expected.size(), snapshot.size());
+            if (step % 50 == 0) {
+                assertEquals(expected, snapshot);
+            }
+        }
+        assertEquals(expected, snapshot);
+    }
+
+    @Test
+    public void removeAll_returnsEmpty() {
+        DataSnapshot<Integer> snapshot = DataSnapshot.copyOf(range(0, 200));
+        assertSame(DataSnapshot.empty(), snapshot.removeItems(0, 200));
+    }
+
+    @Test
+    public void noOpModification_returnsSameSnapshot() {
+        DataSnapshot<Integer> snapshot = DataSnapshot.copyOf(range(0, 20));
+        assertSame(snapshot, snapshot.removeItems(5, 0));
+        assertSame(snapshot, snapshot.insertAll(5, Collections.<Integer>emptyList()));
+        assertSame(snapshot, snapshot.move(3, 3));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_outOfRangeThrows() {
+        DataSnapshot.copyOf(Arrays.asList(1, 2, 3)).get(3);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void insert_outOfRangeThrows() {
+        DataSnapshot.copyOf(Arrays.asList(1, 2, 3)).insert(4, 0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeItems_outOfRangeThrows() {
+        DataSnapshot.copyOf(Arrays.asList(1, 2, 3)).removeItems(2, 2);
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(i);
+        }
+        return result;
+    }
+
+}
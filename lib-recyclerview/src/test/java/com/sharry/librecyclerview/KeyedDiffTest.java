@@ -0,0 +1,194 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.util.ListUpdateCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link KeyedDiff} 的单元测试
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class KeyedDiffTest {
+
+    @Test
+    public void replayingDiff_producesNewList() {
+        Random random = new Random(37);
+        for (int round = 0; round < 300; round++) {
+            List<Integer> oldKeys = new ArrayList<>();
+            for (int i = 0; i < random.nextInt(60); i++) {
+                oldKeys.add(i);
+            }
+            List<Integer> newKeys = new ArrayList<>();
+            for (Integer key : oldKeys) {
+                if (random.nextInt(4) > 0) {
+                    newKeys.add(key);
+                }
+            }
+            for (int i = 0; i < random.nextInt(20); i++) {
+                newKeys.add(random.nextInt(newKeys.size() + 1), 1000 + i);
+            }
+            // 打乱部分条目
+            for (int i = 0; i < random.nextInt(10) && newKeys.size() > 1; i++) {
+                Collections.swap(newKeys, random.nextInt(newKeys.size()), random.nextInt(newKeys.size()));
+            }
+            assertDiff(oldKeys, newKeys, random);
+        }
+    }
+
+    @Test
+    public void reversedList_producesNewList() {
+        List<Integer> oldKeys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            oldKeys.add(i);
+        }
+        List<Integer> newKeys = new ArrayList<>(oldKeys);
+        Collections.reverse(newKeys);
+        assertDiff(oldKeys, newKeys, new Random(1));
+    }
+
+    @Test
+    public void duplicateKeys_returnNull() {
+        assertNull(KeyedDiff.calculate(new KeyCallback(list(1, 2, 3), list(1, 2, 2), null)));
+        assertNull(KeyedDiff.calculate(new KeyCallback(list(1, 1, 3), list(1, 3), null)));
+    }
+
+    @Test
+    public void smallLists_useDiffUtil() {
+        assertFalse(KeyedDiff.shouldUseKeyedDiff(new KeyCallback(list(1, 2, 3), list(3, 2, 1), null)));
+    }
+
+    @Test
+    public void largeListWithLocalEdits_usesDiffUtil() {
+        List<Integer> oldKeys = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            oldKeys.add(i);
+        }
+        List<Integer> newKeys = new ArrayList<>(oldKeys);
+        newKeys.set(2500, -1);
+        newKeys.remove(2510);
+        newKeys.add(2520, -2);
+        assertFalse(KeyedDiff.shouldUseKeyedDiff(new KeyCallback(oldKeys, newKeys, null)));
+    }
+
+    @Test
+    public void largeShuffledList_usesKeyedDiff() {
+        List<Integer> oldKeys = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            oldKeys.add(i);
+        }
+        List<Integer> newKeys = new ArrayList<>(oldKeys);
+        Collections.shuffle(newKeys, new Random(2));
+        assertTrue(KeyedDiff.shouldUseKeyedDiff(new KeyCallback(oldKeys, newKeys, null)));
+    }
+
+    /**
+     * 将差异重放到旧数据上, 结果应与新数据一致, 且只有内容变化的条目收到变更通知
+     */
+    private static void assertDiff(List<Integer> oldKeys, List<Integer> newKeys, Random random) {
+        List<Integer> changedKeys = new ArrayList<>();
+        for (Integer key : newKeys) {
+            if (oldKeys.contains(key) && random.nextInt(5) == 0) {
+                changedKeys.add(key);
+            }
+        }
+        UpdateOpBatcher batcher = KeyedDiff.calculate(new KeyCallback(oldKeys, newKeys, changedKeys));
+        assertNotNull(batcher);
+        final List<Integer> replayed = new ArrayList<>(oldKeys);
+        final List<Integer> changedPositions = new ArrayList<>();
+        batcher.dispatchTo(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                for (int i = 0; i < count; i++) {
+                    replayed.add(position, null);
+                }
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                replayed.subList(position, position + count).clear();
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                replayed.add(toPosition, replayed.remove(fromPosition));
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                for (int i = position; i < position + count; i++) {
+                    changedPositions.add(i);
+                }
+            }
+        });
+        assertEquals(newKeys.size(), replayed.size());
+        List<Integer> expectedChanged = new ArrayList<>();
+        for (int j = 0; j < newKeys.size(); j++) {
+            Integer key = newKeys.get(j);
+            if (oldKeys.contains(key)) {
+                assertEquals(key, replayed.get(j));
+            } else {
+                assertNull("position " + j + " should be inserted", replayed.get(j));
+            }
+            if (changedKeys.contains(key)) {
+                expectedChanged.add(j);
+            }
+        }
+        assertEquals(expectedChanged, changedPositions);
+    }
+
+    private static List<Integer> list(Integer... keys) {
+        List<Integer> result = new ArrayList<>();
+        Collections.addAll(result, keys);
+        return result;
+    }
+
+    private static class KeyCallback extends KeyedDiff.Callback {
+
+        private final List<Integer> mOldKeys;
+        private final List<Integer> mNewKeys;
+        // 内容发生变化的标识
+        private final List<Integer> mChangedKeys;
+
+        KeyCallback(List<Integer> oldKeys, List<Integer> newKeys, List<Integer> changedKeys) {
+            mOldKeys = oldKeys;
+            mNewKeys = newKeys;
+            mChangedKeys = changedKeys == null ? Collections.<Integer>emptyList() : changedKeys;
+        }
+
+        @Override
+        int getOldListSize() {
+            return mOldKeys.size();
+        }
+
+        @Override
+        int getNewListSize() {
+            return mNewKeys.size();
+        }
+
+        @Override
+        Object getOldItemKey(int oldItemPosition) {
+            return mOldKeys.get(oldItemPosition);
+        }
+
+        @Override
+        Object getNewItemKey(int newItemPosition) {
+            return mNewKeys.get(newItemPosition);
+        }
+
+        @Override
+        boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+            return !mChangedKeys.contains(mNewKeys.get(newItemPosition));
+        }
+    }
+
+}
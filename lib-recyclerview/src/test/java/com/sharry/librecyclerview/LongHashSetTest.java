@@ -0,0 +1,104 @@
+package com.sharry.librecyclerview;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link LongHashSet} 的单元测试
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class LongHashSetTest {
+
+    @Test
+    public void addAndRemove_reportChanges() {
+        LongHashSet set = new LongHashSet();
+        assertTrue(set.add(7));
+        assertFalse(set.add(7));
+        assertTrue(set.contains(7));
+        assertEquals(1, set.size());
+        assertTrue(set.remove(7));
+        assertFalse(set.remove(7));
+        assertFalse(set.contains(7));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    public void emptyMarker_isStoredSeparately() {
+        LongHashSet set = new LongHashSet();
+        assertFalse(set.contains(Long.MIN_VALUE));
+        assertTrue(set.add(Long.MIN_VALUE));
+        assertFalse(set.add(Long.MIN_VALUE));
+        set.add(0);
+        assertEquals(2, set.size());
+        long[] keys = set.toArray();
+        Arrays.sort(keys);
+        assertArrayEquals(new long[]{Long.MIN_VALUE, 0}, keys);
+        assertTrue(set.remove(Long.MIN_VALUE));
+        assertFalse(set.contains(Long.MIN_VALUE));
+        assertTrue(set.contains(0));
+    }
+
+    @Test
+    public void clear_removesEverything() {
+        LongHashSet set = new LongHashSet();
+        for (long i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+        set.add(Long.MIN_VALUE);
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(5));
+        assertFalse(set.contains(Long.MIN_VALUE));
+        assertEquals(0, set.toArray().length);
+    }
+
+    /**
+     * 随机的增删, 包含哈希冲突较多的连续值与较大的值, 结果应与 HashSet 一致
+     */
+    @Test
+    public void randomOperations_matchHashSet() {
+        Random random = new Random(39);
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        for (int step = 0; step < 100000; step++) {
+            long key;
+            switch (random.nextInt(3)) {
+                case 0:
+                    key = random.nextInt(2000);
+                    break;
+                case 1:
+                    key = (long) random.nextInt(2000) << 32;
+                    break;
+                default:
+                    key = random.nextLong();
+                    break;
+            }
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), set.remove(key));
+            } else {
+                assertEquals(expected.add(key), set.add(key));
+            }
+            if (step % 1000 == 0) {
+                assertEquals(expected.size(), set.size());
+                for (Long value : expected) {
+                    assertTrue(set.contains(value));
+                }
+            }
+        }
+        long[] keys = set.toArray();
+        assertEquals(expected.size(), keys.length);
+        for (long key : keys) {
+            assertTrue(expected.contains(key));
+        }
+    }
+
+}
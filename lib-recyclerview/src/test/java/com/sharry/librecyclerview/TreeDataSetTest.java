@@ -0,0 +1,173 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.util.ListUpdateCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link TreeDataSet} 的单元测试
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class TreeDataSetTest {
+
+    private TreeDataSet<String> mDataSet;
+    // 按照刷新通知重放得到的列表
+    private List<TreeDataSet.Node<String>> mReplayed;
+    private List<Object> mPayloads;
+
+    @Before
+    public void setUp() {
+        mDataSet = new TreeDataSet<>();
+        mReplayed = new ArrayList<>();
+        mPayloads = new ArrayList<>();
+        mDataSet.setUpdateCallback(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                for (int i = 0; i < count; i++) {
+                    mReplayed.add(position + i, mDataSet.get(position + i));
+                }
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                mReplayed.subList(position, position + count).clear();
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                mReplayed.add(toPosition, mReplayed.remove(fromPosition));
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                mPayloads.add(payload);
+            }
+        });
+    }
+
+    @Test
+    public void expandAndCollapse_insertAndRemoveChildren() {
+        TreeDataSet.Node<String> folder = mDataSet.addChild(null, "folder");
+        mDataSet.addChildren(folder, Arrays.asList("a", "b", "c"));
+        mDataSet.addChild(null, "file");
+        assertEquals(2, mDataSet.getCount());
+        assertFalse(mDataSet.isVisible(folder.getChildren().get(0)));
+        assertEquals(-1, mDataSet.getPosition(folder.getChildren().get(0)));
+
+        mDataSet.expand(folder);
+        assertEquals(5, mDataSet.getCount());
+        assertEquals("b", mDataSet.get(2).getValue());
+        assertEquals("file", mDataSet.get(4).getValue());
+        assertEquals(1, folder.getChildren().get(0).getDepth());
+        assertSame(folder, folder.getChildren().get(0).getParent());
+
+        mDataSet.collapse(folder);
+        assertEquals(2, mDataSet.getCount());
+        assertEquals(flatten(), mReplayed);
+    }
+
+    @Test
+    public void collapse_keepsDescendantExpansion() {
+        TreeDataSet.Node<String> root = mDataSet.addChild(null, "root");
+        TreeDataSet.Node<String> child = mDataSet.addChild(root, "child");
+        mDataSet.addChildren(child, Arrays.asList("x", "y"));
+        mDataSet.expand(root);
+        mDataSet.expand(child);
+        assertEquals(4, mDataSet.getCount());
+        mDataSet.collapse(root);
+        assertEquals(1, mDataSet.getCount());
+        assertTrue(child.isExpanded());
+        mDataSet.expand(root);
+        assertEquals(4, mDataSet.getCount());
+        assertEquals(flatten(), mReplayed);
+    }
+
+    @Test
+    public void toggle_dispatchesExpansionPayload() {
+        TreeDataSet.Node<String> folder = mDataSet.addChild(null, "folder");
+        mDataSet.addChild(folder, "a");
+        mPayloads.clear();
+        mDataSet.toggle(folder);
+        mDataSet.toggle(folder);
+        assertEquals(Arrays.<Object>asList(TreeDataSet.PAYLOAD_EXPANSION, TreeDataSet.PAYLOAD_EXPANSION), mPayloads);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void get_outOfRangeThrows() {
+        mDataSet.addChild(null, "a");
+        mDataSet.get(1);
+    }
+
+    /**
+     * 随机的增删与展开收起, 位置查找与刷新通知都应与逐层展开得到的列表一致
+     */
+    @Test
+    public void randomOperations_matchFlattenedTree() {
+        Random random = new Random(40);
+        List<TreeDataSet.Node<String>> allNodes = new ArrayList<>();
+        for (int step = 0; step < 2000; step++) {
+            int op = allNodes.isEmpty() ? 0 : random.nextInt(10);
+            if (op < 4) {
+                TreeDataSet.Node<String> parent = allNodes.isEmpty() || random.nextInt(4) == 0
+                        ? null : allNodes.get(random.nextInt(allNodes.size()));
+                List<String> values = new ArrayList<>();
+                for (int i = 0; i <= random.nextInt(4); i++) {
+                    values.add("n" + step + "_" + i);
+                }
+                allNodes.addAll(mDataSet.addChildren(parent, values));
+            } else if (op < 5) {
+                TreeDataSet.Node<String> node = allNodes.get(random.nextInt(allNodes.size()));
+                mDataSet.remove(node);
+                removeSubtree(node, allNodes);
+            } else {
+                mDataSet.toggle(allNodes.get(random.nextInt(allNodes.size())));
+            }
+            List<TreeDataSet.Node<String>> expected = flatten();
+            assertEquals("step " + step, expected.size(), mDataSet.getCount());
+            assertEquals("step " + step, expected, mReplayed);
+            if (step % 20 == 0) {
+                for (int i = 0; i < expected.size(); i++) {
+                    assertSame(expected.get(i), mDataSet.get(i));
+                    assertEquals(i, mDataSet.getPosition(expected.get(i)));
+                }
+            }
+        }
+    }
+
+    /**
+     * 逐层展开得到的可见节点
+     */
+    private List<TreeDataSet.Node<String>> flatten() {
+        List<TreeDataSet.Node<String>> result = new ArrayList<>();
+        flatten(mDataSet.getRootNodes(), result);
+        return result;
+    }
+
+    private static void flatten(List<TreeDataSet.Node<String>> nodes, List<TreeDataSet.Node<String>> out) {
+        for (TreeDataSet.Node<String> node : nodes) {
+            out.add(node);
+            if (node.isExpanded()) {
+                flatten(node.getChildren(), out);
+            }
+        }
+    }
+
+    private static void removeSubtree(TreeDataSet.Node<String> node, List<TreeDataSet.Node<String>> allNodes) {
+        allNodes.remove(node);
+        for (TreeDataSet.Node<String> child : node.getChildren()) {
+            removeSubtree(child, allNodes);
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.sharry.librecyclerview;
+
+import android.support.v7.util.ListUpdateCallback;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * {@link UpdateOpBatcher} 的单元测试
+ *
+ * @author Sharry <a href="SharryChooCHN@Gmail.com">Contact me.</a>
+ * @version 1.0
+ * @since 2026/10/19
+ */
+public class UpdateOpBatcherTest {
+
+    @Test
+    public void consecutiveInserts_mergeIntoOneRange() {
+        UpdateOpBatcher batcher = new UpdateOpBatcher();
+        batcher.onInserted(10, 1);
+        batcher.onInserted(11, 1);
+        batcher.onInserted(10, 2);
+        assertEquals(ops("insert 10 4"), dispatch(batcher));
+    }
+
+    @Test
+    public void forwardAndBackwardRemoves_mergeIntoOneRange() {
+        UpdateOpBatcher batcher = new UpdateOpBatcher();
+        batcher.onRemoved(5, 1);
+        batcher.onRemoved(5, 2);
+        batcher.onRemoved(3, 2);
+        assertEquals(ops("remove 3 5"), dispatch(batcher));
+    }
+
+    @Test
+    public void removingInsertedItems_cancelsOut() {
+        UpdateOpBatcher batcher = new UpdateOpBatcher();
+        batcher.onInserted(0, 3);
+        batcher.onRemoved(1, 1);
+        assertEquals(ops("insert 0 2"), dispatch(batcher));
+        batcher.onInserted(0, 1);
+        batcher.onRemoved(0, 1);
+        assertTrue(batcher.isEmpty());
+    }
+
+    @Test
+    public void changesWithSamePayload_mergeIntoOneRange() {
+        Object payload = new Object();
+        UpdateOpBatcher batcher = new UpdateOpBatcher();
+        batcher.onChanged(4, 2, payload);
+        batcher.onChanged(6, 1, payload);
+        batcher.onChanged(2, 3, payload);
+        assertEquals(ops("change 2 5"), dispatch(batcher));
+    }
+
+    @Test
+    public void changesWithDifferentPayload_areKept() {
+        UpdateOpBatcher batcher = new UpdateOpBatcher();
+        batcher.onChanged(4, 1, "a");
+        batcher.onChanged(5, 1, "b");
+        assertEquals(ops("change 4 1", "change 5 1"), dispatch(batcher));
+    }
+
+    @Test
+    public void changingInsertedItems_isDropped() {
+        UpdateOpBatcher batcher = new UpdateOpBatcher();
+        batcher.onInserted(3, 2);
+        batcher.onChanged(4, 1, null);
+        assertEquals(ops("insert 3 2"), dispatch(batcher));
+    }
+
+    @Test
+    public void dispatch_clearsOps() {
+        UpdateOpBatcher batcher = new UpdateOpBatcher();
+        batcher.onMoved(1, 2);
+        assertFalse(batcher.isEmpty());
+        dispatch(batcher);
+        assertTrue(batcher.isEmpty());
+    }
+
+    /**
+     * 随机的操作序列, 重放合并后的通知应得到相同的数据, 且所有被修改过的原有条目都会收到变更通知
+     */
+    @Test
+    public void replayingBatchedOps_matchesOriginalOps() {
+        Random random = new Random(27);
+        for (int round = 0; round < 200; round++) {
+            final List<Item> expected = new ArrayList<>();
+            List<Item> replayed = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                expected.add(new Item(i));
+                replayed.add(new Item(i));
+            }
+            UpdateOpBatcher batcher = new UpdateOpBatcher();
+            for (int step = 0; step < 40; step++) {
+                int size = expected.size();
+                int op = size == 0 ? 0 : random.nextInt(4);
+                if (op == 0) {
+                    int position = random.nextInt(size + 1);
+                    int count = 1 + random.nextInt(3);
+                    for (int i = 0; i < count; i++) {
+                        expected.add(position, new Item(Item.INSERTED));
+                    }
+                    batcher.onInserted(position, count);
+                } else if (op == 1) {
+                    int position = random.nextInt(size);
+                    int count = 1 + random.nextInt(Math.min(3, size - position));
+                    expected.subList(position, position + count).clear();
+                    batcher.onRemoved(position, count);
+                } else if (op == 2) {
+                    int position = random.nextInt(size);
+                    int count = 1 + random.nextInt(Math.min(3, size - position));
+                    for (int i = position; i < position + count; i++) {
+                        expected.get(i).changed = true;
+                    }
+                    batcher.onChanged(position, count, null);
+                } else {
+                    int from = random.nextInt(size);
+                    int to = random.nextInt(size);
+                    expected.add(to, expected.remove(from));
+                    batcher.onMoved(from, to);
+                }
+            }
+            batcher.dispatchTo(new ReplayCallback(replayed));
+            assertEquals(expected.size(), replayed.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Item want = expected.get(i);
+                Item got = replayed.get(i);
+                assertEquals("round " + round + " position " + i, want.id, got.id);
+                if (want.id != Item.INSERTED && want.changed) {
+                    assertTrue("round " + round + " position " + i + " missed change", got.changed);
+                }
+            }
+        }
+    }
+
+    private static List<String> dispatch(UpdateOpBatcher batcher) {
+        final List<String> result = new ArrayList<>();
+        batcher.dispatchTo(new ListUpdateCallback() {
+            @Override
+            public void onInserted(int position, int count) {
+                result.add("insert " + position + " " + count);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                result.add("remove " + position + " " + count);
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+                result.add("move " + fromPosition + " " + toPosition);
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+                result.add("change " + position + " " + count);
+            }
+        });
+        return result;
+    }
+
+    private static List<String> ops(String... ops) {
+        List<String> result = new ArrayList<>();
+        for (String op : ops) {
+            result.add(op);
+        }
+        return result;
+    }
+
+    private static class Item {
+
+        static final int INSERTED = -1;
+
+        final int id;
+        boolean changed;
+
+        Item(int id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * 将通知应用到列表上
+     */
+    private static class ReplayCallback implements ListUpdateCallback {
+
+        private final List<Item> mItems;
+
+        ReplayCallback(List<Item> items) {
+            mItems = items;
+        }
+
+        @Override
+        public void onInserted(int position, int count) {
+            for (int i = 0; i < count; i++) {
+                mItems.add(position, new Item(Item.INSERTED));
+            }
+        }
+
+        @Override
+        public void onRemoved(int position, int count) {
+            mItems.subList(position, position + count).clear();
+        }
+
+        @Override
+        public void onMoved(int fromPosition, int toPosition) {
+            mItems.add(toPosition, mItems.remove(fromPosition));
+        }
+
+        @Override
+        public void onChanged(int position, int count, Object payload) {
+            for (int i = position; i < position + count; i++) {
+                mItems.get(i).changed = true;
+            }
+        }
+    }
+
+}